@@ -0,0 +1,59 @@
+package com.softserve.itacademy.todolist.benchmark;
+
+import com.softserve.itacademy.todolist.model.Role;
+import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of HTTP Basic (BCrypt password check) against bearer token verification.
+ * The Basic path is measured without its user lookup, so the real gap is larger than reported.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AuthenticationBenchmark {
+
+    private static final String PASSWORD = "1111";
+
+    private PasswordEncoder passwordEncoder;
+    private String passwordHash;
+    private JwtTokenProvider tokenProvider;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder();
+        passwordHash = passwordEncoder.encode(PASSWORD);
+
+        String secret = Base64.getEncoder().encodeToString(new byte[48]);
+        tokenProvider = new JwtTokenProvider(secret, false, Duration.ofHours(1), Duration.ofDays(1));
+        Role role = new Role();
+        role.setName("USER");
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("mike@mail.com");
+        user.setRole(role);
+        accessToken = tokenProvider.createAccessToken(user);
+    }
+
+    @Benchmark
+    public boolean httpBasic() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    @Benchmark
+    public Authentication bearerToken() {
+        return tokenProvider.authenticate(accessToken);
+    }
+}
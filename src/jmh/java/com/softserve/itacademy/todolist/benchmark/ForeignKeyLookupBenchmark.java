@@ -0,0 +1,243 @@
+package com.softserve.itacademy.todolist.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the foreign-key lookups behind the todo and task list endpoints on a database with
+ * 1M tasks, once on the original schema (migration 1) and once on the indexed one (latest).
+ * Sample time mode reports p50/p99 next to the average; each statement mirrors the SQL the
+ * corresponding repository method issues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ForeignKeyLookupBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int TODOS_PER_USER = 10;
+    private static final int COLLABORATORS_PER_TODO = 3;
+    private static final int TASKS = 1_000_000;
+    private static final int TODOS = USERS * TODOS_PER_USER;
+    /** Collaborates on every todo and owns none. */
+    private static final long HEAVY_COLLABORATOR = USERS + 1;
+    private static final int PAGE_SIZE = 50;
+
+    /** "1" is the schema as it was before the index migration, "latest" applies everything. */
+    @Param({"1", "latest"})
+    public String schemaVersion;
+
+    private Connection connection;
+    private PreparedStatement tasksByTodo;
+    private PreparedStatement todosByUser;
+    private PreparedStatement collaboratorsByTodo;
+    private PreparedStatement collaboratorsByOwner;
+    private PreparedStatement visibleTodosPage;
+    private PreparedStatement visibleTodosScan;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:fk-lookup-" + schemaVersion + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("sa");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .target(schemaVersion)
+                .load()
+                .migrate();
+
+        connection = dataSource.getConnection();
+        seed();
+        tasksByTodo = connection.prepareStatement(
+                "select id, name, priority, todo_id, state_id from tasks where todo_id = ? order by id");
+        todosByUser = connection.prepareStatement(
+                "select * from todos where owner_id = ? " +
+                "union " +
+                "select t.* from todos t inner join todo_collaborator tc " +
+                "on t.id = tc.todo_id and tc.collaborator_id = ?");
+        collaboratorsByTodo = connection.prepareStatement(
+                "select collaborator_id from todo_collaborator where todo_id = ?");
+        collaboratorsByOwner = connection.prepareStatement(
+                "select tc.todo_id, tc.collaborator_id from todo_collaborator tc " +
+                "inner join todos t on t.id = tc.todo_id where t.owner_id = ?");
+        visibleTodosPage = connection.prepareStatement(
+                "select v.id, v.title, v.created_at, v.owner_id from (" +
+                "(select t.id, t.title, t.created_at, t.owner_id from todos t " +
+                "  where t.owner_id = ? and (t.created_at, t.id) < (?, ?) " +
+                "  order by t.created_at desc, t.id desc limit ?) " +
+                "union all " +
+                "(select t.id, t.title, t.created_at, t.owner_id " +
+                "  from todo_collaborator tc inner join todos t on t.id = tc.todo_id " +
+                "  where tc.collaborator_id = ? and t.owner_id <> ? " +
+                "    and (t.created_at, t.id) < (?, ?) " +
+                "  order by t.created_at desc, t.id desc limit ?)" +
+                ") v order by v.created_at desc, v.id desc limit ?");
+        visibleTodosScan = connection.prepareStatement(
+                "select t.id, t.title, t.created_at, t.owner_id from todos t " +
+                "where t.created_at <= ? and (t.created_at, t.id) < (?, ?) " +
+                "  and (t.owner_id = ? or exists (select 1 from todo_collaborator tc " +
+                "    where tc.todo_id = t.id and tc.collaborator_id = ?)) " +
+                "order by t.created_at desc, t.id desc limit ?");
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("shutdown");
+        }
+    }
+
+    /** GET /api/todos/{id}/tasks and GET /api/tasks/todos/{id} */
+    @Benchmark
+    public void tasksOfTodo(Blackhole blackhole) throws SQLException {
+        tasksByTodo.setLong(1, 1 + random.nextInt(TODOS));
+        drain(tasksByTodo, blackhole);
+    }
+
+    /** ToDoRepository.getByUserId: owned and shared todos of a user */
+    @Benchmark
+    public void todosOfUser(Blackhole blackhole) throws SQLException {
+        long userId = 1 + random.nextInt(USERS);
+        todosByUser.setLong(1, userId);
+        todosByUser.setLong(2, userId);
+        drain(todosByUser, blackhole);
+    }
+
+    /** GET /api/users/{id}/todos/visible, page at a random position */
+    @Benchmark
+    public void visibleTodosOfUser(Blackhole blackhole) throws SQLException {
+        visibleTodos(1 + random.nextInt(USERS), blackhole);
+    }
+
+    /** GET /api/users/{id}/todos/visible, page at a random position for a user sharing 10k todos */
+    @Benchmark
+    public void visibleTodosOfHeavyCollaborator(Blackhole blackhole) throws SQLException {
+        visibleTodos(HEAVY_COLLABORATOR, blackhole);
+    }
+
+    /** The same page through the creation-order scan the service picks for such a user */
+    @Benchmark
+    public void visibleTodosOfHeavyCollaboratorScan(Blackhole blackhole) throws SQLException {
+        long beforeId = 1 + random.nextInt(TODOS);
+        Timestamp beforeCreatedAt = createdAt(beforeId);
+        visibleTodosScan.setTimestamp(1, beforeCreatedAt);
+        visibleTodosScan.setTimestamp(2, beforeCreatedAt);
+        visibleTodosScan.setLong(3, beforeId);
+        visibleTodosScan.setLong(4, HEAVY_COLLABORATOR);
+        visibleTodosScan.setLong(5, HEAVY_COLLABORATOR);
+        visibleTodosScan.setInt(6, PAGE_SIZE + 1);
+        drain(visibleTodosScan, blackhole);
+    }
+
+    // a different cursor on every call, otherwise H2 hands back the previous result unexecuted
+    private void visibleTodos(long userId, Blackhole blackhole) throws SQLException {
+        long beforeId = 1 + random.nextInt(TODOS);
+        Timestamp beforeCreatedAt = createdAt(beforeId);
+        visibleTodosPage.setLong(1, userId);
+        visibleTodosPage.setTimestamp(2, beforeCreatedAt);
+        visibleTodosPage.setLong(3, beforeId);
+        visibleTodosPage.setInt(4, PAGE_SIZE + 1);
+        visibleTodosPage.setLong(5, userId);
+        visibleTodosPage.setLong(6, userId);
+        visibleTodosPage.setTimestamp(7, beforeCreatedAt);
+        visibleTodosPage.setLong(8, beforeId);
+        visibleTodosPage.setInt(9, PAGE_SIZE + 1);
+        visibleTodosPage.setInt(10, PAGE_SIZE + 1);
+        drain(visibleTodosPage, blackhole);
+    }
+
+    private static Timestamp createdAt(long todoId) {
+        return new Timestamp(1_600_000_000_000L + todoId * 60_000L);
+    }
+
+    /** ACL check behind the todo endpoints on a cache miss */
+    @Benchmark
+    public void collaboratorsOfTodo(Blackhole blackhole) throws SQLException {
+        collaboratorsByTodo.setLong(1, 1 + random.nextInt(TODOS));
+        drain(collaboratorsByTodo, blackhole);
+    }
+
+    /** GET /api/users/{id}/todos: collaborators of every todo the user owns */
+    @Benchmark
+    public void collaboratorsOfOwnedTodos(Blackhole blackhole) throws SQLException {
+        collaboratorsByOwner.setLong(1, 1 + random.nextInt(USERS));
+        drain(collaboratorsByOwner, blackhole);
+    }
+
+    private static void drain(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+
+    private void seed() throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("insert into roles (id, name) values (1, 'USER')");
+            statement.execute("insert into states (id, name) values (1, 'NEW'), (2, 'DOING'), (3, 'VERIFY'), (4, 'DONE')");
+        }
+        try (PreparedStatement users = connection.prepareStatement(
+                "insert into users (id, email, first_name, last_name, password, role_id) values (?, ?, 'First', 'Last', 'x', 1)")) {
+            for (int id = 1; id <= HEAVY_COLLABORATOR; id++) {
+                users.setLong(1, id);
+                users.setString(2, "user" + id + "@mail.com");
+                users.addBatch();
+            }
+            users.executeBatch();
+        }
+        try (PreparedStatement todos = connection.prepareStatement(
+                "insert into todos (id, title, created_at, owner_id) values (?, ?, ?, ?)");
+             PreparedStatement collaborators = connection.prepareStatement(
+                "insert into todo_collaborator (todo_id, collaborator_id) values (?, ?)")) {
+            for (int id = 1; id <= TODOS; id++) {
+                long ownerId = 1 + (id - 1) / TODOS_PER_USER;
+                todos.setLong(1, id);
+                todos.setString(2, "To-Do #" + id);
+                todos.setTimestamp(3, createdAt(id));
+                todos.setLong(4, ownerId);
+                todos.addBatch();
+                collaborators.setLong(1, id);
+                collaborators.setLong(2, HEAVY_COLLABORATOR);
+                collaborators.addBatch();
+                for (int c = 1; c <= COLLABORATORS_PER_TODO; c++) {
+                    collaborators.setLong(1, id);
+                    collaborators.setLong(2, 1 + (ownerId - 1 + c * 97L) % USERS);
+                    collaborators.addBatch();
+                }
+            }
+            todos.executeBatch();
+            collaborators.executeBatch();
+        }
+        try (PreparedStatement tasks = connection.prepareStatement(
+                "insert into tasks (id, name, priority, todo_id, state_id) values (?, ?, 'MEDIUM', ?, ?)")) {
+            for (int id = 1; id <= TASKS; id++) {
+                tasks.setLong(1, id);
+                tasks.setString(2, "Task #" + id);
+                // tasks of one todo are spread over the table, as they are when todos are worked on in parallel
+                tasks.setLong(3, 1 + (id - 1) % TODOS);
+                tasks.setLong(4, 1 + id % 4);
+                tasks.addBatch();
+                if (id % 10_000 == 0) {
+                    tasks.executeBatch();
+                }
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+}
@@ -0,0 +1,93 @@
+package com.softserve.itacademy.todolist.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.softserve.itacademy.todolist.dto.UserResponseDto;
+import com.softserve.itacademy.todolist.service.TaskService;
+import com.softserve.itacademy.todolist.service.ToDoService;
+import com.softserve.itacademy.todolist.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.softserve.itacademy.todolist.benchmark.SeededApplication.TODOS;
+import static com.softserve.itacademy.todolist.benchmark.SeededApplication.USERS;
+
+/**
+ * The list endpoints' work per request, query plus JSON encoding, through the per-row DTOs
+ * ({@code rows}) and through the columnar list DTOs the controllers return ({@code columns}).
+ * The allocation per request is {@code gc.alloc.rate.norm}, reported with {@code -prof gc}:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.includes=ListSerializationBenchmark -Djmh.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ListSerializationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ObjectWriter writer;
+    private TaskService taskService;
+    private ToDoService todoService;
+    private UserService userService;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        context = SeededApplication.start();
+        writer = context.getBean(ObjectMapper.class).writer();
+        taskService = context.getBean(TaskService.class);
+        todoService = context.getBean(ToDoService.class);
+        userService = context.getBean(UserService.class);
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void tasksByTodoRows() throws IOException {
+        write(taskService.getDtoByTodoId(1 + random.nextInt(TODOS)));
+    }
+
+    @Benchmark
+    public void tasksByTodoColumns() throws IOException {
+        write(taskService.getListDtoByTodoId(1 + random.nextInt(TODOS)));
+    }
+
+    @Benchmark
+    public void todosByOwnerRows() throws IOException {
+        write(todoService.getDtoByOwnerId(1 + random.nextInt(USERS)));
+    }
+
+    @Benchmark
+    public void todosByOwnerColumns() throws IOException {
+        write(todoService.getListDtoByOwnerId(1 + random.nextInt(USERS)));
+    }
+
+    @Benchmark
+    public void usersRows() throws IOException {
+        write(userService.getAll().stream().map(UserResponseDto::new).collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public void usersColumns() throws IOException {
+        write(userService.getAllListDto());
+    }
+
+    // no response buffer, which would be the same for both
+    private void write(Object value) throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), value);
+    }
+}
@@ -0,0 +1,343 @@
+package com.softserve.itacademy.todolist.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.softserve.itacademy.todolist.dto.CursorCodec;
+import com.softserve.itacademy.todolist.model.Role;
+import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.security.JwtTokenProvider;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test: starts the application on an in-memory H2 database, fills it with
+ * {@link SkewedDataGenerator}, then drives the REST API from {@code --threads} closed-loop clients
+ * with a weighted mix of scenarios and reports throughput and latency percentiles per request type.
+ * Clients run in the same JVM as the server, so keep {@code --threads} below the core count when
+ * comparing server-side changes.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@load-test -Dloadtest.args="--threads=8 --duration=60"
+ * </pre>
+ *
+ * Options (defaults in brackets): {@code --threads} [8], {@code --warmup} seconds [10],
+ * {@code --duration} seconds [30], {@code --users} [2000], {@code --power-users} [5],
+ * {@code --todos-per-power-user} [2000], {@code --seed} [42], {@code --result} JSON report file
+ * [target/loadtest-result.json]; any other {@code --name=value} is passed to the application.
+ */
+public final class LoadTest {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    enum Scenario {
+        ALL_TODOS("GET /api/todos", 1),
+        TASK_PAGE("GET /api/tasks", 3),
+        OWNED_TODOS("GET /api/users/{id}/todos", 3),
+        VISIBLE_TODOS("GET /api/users/{id}/todos/visible", 2),
+        TODO_TASKS("GET /api/todos/{id}/tasks", 3),
+        ADD_COLLABORATOR("POST /api/todos/{id}/users/{id}/add", 1),
+        REMOVE_COLLABORATOR("DELETE /api/todos/{id}/users/{id}/remove", 0);
+
+        final String label;
+        /** Share of iterations starting with this request; removal always follows an add. */
+        final int weight;
+
+        Scenario(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    private final SkewedDataGenerator.Dataset data;
+    private final String baseUrl;
+    private final String[] tokens;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final Scenario[] mix;
+
+    private LoadTest(SkewedDataGenerator.Dataset data, String baseUrl, String[] tokens) {
+        this.data = data;
+        this.baseUrl = baseUrl;
+        this.tokens = tokens;
+        List<Scenario> weighted = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            for (int i = 0; i < scenario.weight; i++) {
+                weighted.add(scenario);
+            }
+        }
+        mix = weighted.toArray(new Scenario[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator < 0 ? arg : arg.substring(0, separator);
+            switch (name) {
+                case "--threads": case "--warmup": case "--duration": case "--users": case "--power-users":
+                case "--todos-per-power-user": case "--seed": case "--result":
+                    options.put(name, arg.substring(separator + 1));
+                    break;
+                default:
+                    applicationArgs.add(arg);
+            }
+        }
+        int threads = Integer.parseInt(options.getOrDefault("--threads", "8"));
+        int warmup = Integer.parseInt(options.getOrDefault("--warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("--duration", "30"));
+        SkewedDataGenerator generator = new SkewedDataGenerator();
+        generator.users = Integer.parseInt(options.getOrDefault("--users", "" + generator.users));
+        generator.powerUsers = Integer.parseInt(options.getOrDefault("--power-users", "" + generator.powerUsers));
+        generator.todosPerPowerUser = Integer.parseInt(
+                options.getOrDefault("--todos-per-power-user", "" + generator.todosPerPowerUser));
+        generator.seed = Long.parseLong(options.getOrDefault("--seed", "" + generator.seed));
+        File result = new File(options.getOrDefault("--result", "target/loadtest-result.json"));
+
+        try (ConfigurableApplicationContext context = SeededApplication.startEmpty(applicationArgs.toArray(new String[0]))) {
+            long start = System.nanoTime();
+            SkewedDataGenerator.Dataset data = generator.generate(context.getBean(JdbcTemplate.class),
+                    context.getBean(PasswordEncoder.class).encode(SeededApplication.PASSWORD));
+            System.out.printf("Seeded %,d users (%d power users), %,d todos, %,d tasks in %d s%n",
+                    data.users, data.powerUsers, data.todos, data.tasks,
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTest test = new LoadTest(data, "http://localhost:" + port, tokens(context, data.users));
+            Map<Scenario, long[]> latencies = new EnumMap<>(Scenario.class);
+            Map<Scenario, Integer> errors = new EnumMap<>(Scenario.class);
+            test.run(threads, warmup, duration, latencies, errors);
+            report(threads, duration, applicationArgs, latencies, errors, result);
+        }
+    }
+
+    private static String[] tokens(ConfigurableApplicationContext context, int users) {
+        JwtTokenProvider tokenProvider = context.getBean(JwtTokenProvider.class);
+        Role admin = new Role();
+        admin.setName("ADMIN");
+        Role user = new Role();
+        user.setName("USER");
+        String[] tokens = new String[users + 1];
+        for (int id = 1; id <= users; id++) {
+            User principal = new User();
+            principal.setId((long) id);
+            principal.setEmail(SeededApplication.email(id));
+            principal.setRole(id == 1 ? admin : user);
+            tokens[id] = tokenProvider.createAccessToken(principal);
+        }
+        return tokens;
+    }
+
+    private void run(int threads, int warmupSeconds, int durationSeconds,
+                     Map<Scenario, long[]> latencies, Map<Scenario, Integer> errors) throws InterruptedException {
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        Client[] clients = new Client[threads];
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            Client client = new Client(new SplittableRandom(31L * i + 7), measureFrom, end);
+            clients[i] = client;
+            Thread thread = new Thread(() -> {
+                try {
+                    client.run();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + i);
+            thread.start();
+        }
+        done.await();
+        for (Scenario scenario : Scenario.values()) {
+            int count = 0;
+            int failed = 0;
+            for (Client client : clients) {
+                count += client.counts[scenario.ordinal()];
+                failed += client.errors[scenario.ordinal()];
+            }
+            long[] merged = new long[count];
+            int offset = 0;
+            for (Client client : clients) {
+                int n = client.counts[scenario.ordinal()];
+                System.arraycopy(client.samples[scenario.ordinal()], 0, merged, offset, n);
+                offset += n;
+            }
+            Arrays.sort(merged);
+            latencies.put(scenario, merged);
+            errors.put(scenario, failed);
+        }
+    }
+
+    private static void report(int threads, int durationSeconds, List<String> applicationArgs,
+                               Map<Scenario, long[]> latencies, Map<Scenario, Integer> errors,
+                               File result) throws IOException {
+        System.out.printf("%n%d clients, %d s measured, Java %s, application arguments %s%n",
+                threads, durationSeconds, Runtime.version(), applicationArgs);
+        System.out.printf("%-42s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "request", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<Scenario, long[]> entry : latencies.entrySet()) {
+            long[] sorted = entry.getValue();
+            total += sorted.length;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("request", entry.getKey().label);
+            row.put("count", sorted.length);
+            row.put("errors", errors.get(entry.getKey()));
+            row.put("throughput", (double) sorted.length / durationSeconds);
+            StringBuilder line = new StringBuilder(String.format("%-42s %9d %7d %9.1f", entry.getKey().label,
+                    sorted.length, errors.get(entry.getKey()), (double) sorted.length / durationSeconds));
+            for (double percentile : PERCENTILES) {
+                double millis = millis(percentile(sorted, percentile));
+                row.put("p" + (percentile * 100), millis);
+                line.append(String.format(" %9.2f", millis));
+            }
+            double max = sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]);
+            row.put("max", max);
+            line.append(String.format(" %9.2f", max));
+            rows.add(row);
+            System.out.println(line);
+        }
+        System.out.printf("%-42s %9d %7s %9.1f%n", "total", total, "", (double) total / durationSeconds);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threads", threads);
+        report.put("durationSeconds", durationSeconds);
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("applicationArgs", applicationArgs);
+        report.put("latencyUnit", "ms");
+        report.put("requests", rows);
+        result.getAbsoluteFile().getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result, report);
+        System.out.println("Report written to " + result);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /** One closed-loop client: sends the next request as soon as the previous one completes. */
+    private final class Client {
+
+        final SplittableRandom random;
+        final long measureFrom;
+        final long end;
+        final long[][] samples = new long[Scenario.values().length][1024];
+        final int[] counts = new int[Scenario.values().length];
+        final int[] errors = new int[Scenario.values().length];
+
+        Client(SplittableRandom random, long measureFrom, long end) {
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.end = end;
+        }
+
+        void run() {
+            while (System.nanoTime() < end) {
+                Scenario scenario = mix[random.nextInt(mix.length)];
+                long owner = owner();
+                switch (scenario) {
+                    case ALL_TODOS:
+                        send(scenario, get("/api/todos", 1), 200);
+                        break;
+                    case TASK_PAGE:
+                        String cursor = CursorCodec.encode(random.nextLong(data.tasks));
+                        send(scenario, get("/api/tasks?size=50&cursor=" + cursor, owner), 200);
+                        break;
+                    case OWNED_TODOS:
+                        send(scenario, get("/api/users/" + owner + "/todos", owner), 200);
+                        break;
+                    case VISIBLE_TODOS:
+                        send(scenario, get("/api/users/" + owner + "/todos/visible", owner), 200);
+                        break;
+                    case TODO_TASKS:
+                        send(scenario, get("/api/todos/" + todoOf(owner) + "/tasks", owner), 200);
+                        break;
+                    default:
+                        long todo = todoOf(owner);
+                        long collaborator = collaboratorFor(owner);
+                        String path = "/api/todos/" + todo + "/users/" + collaborator;
+                        // concurrent clients may pick the same pair, so CONFLICT is an expected answer
+                        send(Scenario.ADD_COLLABORATOR, request(path + "/add", owner)
+                                .POST(HttpRequest.BodyPublishers.noBody()).build(), 201, 409);
+                        send(Scenario.REMOVE_COLLABORATOR, request(path + "/remove", owner).DELETE().build(), 204);
+                }
+            }
+        }
+
+        /** A power user for 30% of the requests, so their large lists are read proportionally often. */
+        private long owner() {
+            if (data.powerUsers > 0 && random.nextInt(10) < 3) {
+                return 2 + random.nextInt(data.powerUsers);
+            }
+            return 1 + random.nextInt(data.users);
+        }
+
+        private long todoOf(long owner) {
+            long[] todos = data.todosByOwner[(int) owner];
+            return todos[random.nextInt(todos.length)];
+        }
+
+        private long collaboratorFor(long owner) {
+            long user;
+            do {
+                user = 1 + random.nextInt(data.users);
+            } while (user == owner);
+            return user;
+        }
+
+        private HttpRequest get(String path, long userId) {
+            return request(path, userId).GET().build();
+        }
+
+        private HttpRequest.Builder request(String path, long userId) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + tokens[(int) userId])
+                    .timeout(Duration.ofSeconds(30));
+        }
+
+        private void send(Scenario scenario, HttpRequest request, int... expected) {
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                ok = Arrays.stream(expected).anyMatch(code -> code == status);
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long stop = System.nanoTime();
+            if (start < measureFrom || stop > end) {
+                return;
+            }
+            int index = scenario.ordinal();
+            if (counts[index] == samples[index].length) {
+                samples[index] = Arrays.copyOf(samples[index], counts[index] * 2);
+            }
+            samples[index][counts[index]++] = stop - start;
+            if (!ok) {
+                errors[index]++;
+            }
+        }
+    }
+}
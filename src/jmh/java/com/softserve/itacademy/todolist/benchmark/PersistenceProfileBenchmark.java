@@ -0,0 +1,104 @@
+package com.softserve.itacademy.todolist.benchmark;
+
+import com.softserve.itacademy.todolist.dto.TaskFilter;
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.Task;
+import com.softserve.itacademy.todolist.service.StateService;
+import com.softserve.itacademy.todolist.service.TaskService;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.softserve.itacademy.todolist.benchmark.SeededApplication.TASKS_PER_TODO;
+import static com.softserve.itacademy.todolist.benchmark.SeededApplication.TODOS;
+
+/**
+ * Throughput of the seeded application on a file database under each persistence profile, with more
+ * threads than the tuned pool has connections. {@code h2-client} talks to a TCP server started in the
+ * benchmark JVM, so it measures the round trips but not a second host.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PersistenceProfileBenchmark {
+
+    private static final int TCP_PORT = 9123;
+
+    @Param({"default", "tuned", "shared", "h2-client"})
+    public String profile;
+
+    private Path directory;
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    // the JMH annotation takes the short name
+    private List<com.softserve.itacademy.todolist.model.State> states;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("persistence-benchmark");
+        List<String> args = new ArrayList<>();
+        if (!"default".equals(profile)) {
+            args.add("--spring.profiles.active=" + profile);
+        }
+        if ("h2-client".equals(profile)) {
+            server = Server.createTcpServer("-tcpPort", String.valueOf(TCP_PORT), "-baseDir", directory.toString(),
+                    "-ifNotExists").start();
+            args.add("--todolist.h2.server=localhost:" + TCP_PORT);
+            args.add("--todolist.h2.file=./todo");
+        } else {
+            args.add("--todolist.h2.file=" + directory.resolve("todo"));
+        }
+        context = SeededApplication.startOnFile(args.toArray(new String[0]));
+        taskService = context.getBean(TaskService.class);
+        StateService stateService = context.getBean(StateService.class);
+        states = List.of(stateService.readById(1), stateService.readById(2), stateService.readById(3),
+                stateService.readById(4));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        if (server != null) {
+            server.stop();
+        }
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> readTodoTasks() {
+        return taskService.getDtoByTodoId(1 + ThreadLocalRandom.current().nextInt(TODOS));
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> filterTasks() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TaskFilter filter = new TaskFilter(Priority.HIGH, 1L + random.nextInt(4), 1L + random.nextInt(TODOS),
+                null, null);
+        return taskService.getPage(filter, null, true, 51);
+    }
+
+    /** A one-row update transaction, which also raises the todo's tasks version. */
+    @Benchmark
+    public List<Task> changeTaskState() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long taskId = 1 + random.nextInt(TODOS * TASKS_PER_TODO);
+        return taskService.changeStates(Map.of(taskId, states.get(random.nextInt(states.size()))));
+    }
+}
@@ -0,0 +1,93 @@
+package com.softserve.itacademy.todolist.benchmark;
+
+import com.softserve.itacademy.todolist.controller.ToDoController;
+import com.softserve.itacademy.todolist.controller.UserController;
+import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.softserve.itacademy.todolist.benchmark.SeededApplication.*;
+
+/**
+ * Credential check at login (user lookup plus BCrypt through the application's AuthenticationManager)
+ * and evaluation of the controllers' {@code @PreAuthorize} expressions for a non-admin principal,
+ * the case where every clause of the expression runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SecurityBenchmark {
+
+    private static final long USER_ID = 2;
+
+    private ConfigurableApplicationContext context;
+    private AuthenticationManager authenticationManager;
+    private PreAuthorizeAuthorizationManager preAuthorize;
+    private Authentication authentication;
+    private SimpleMethodInvocation readOwnUser;
+    private SimpleMethodInvocation readSharedTodo;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        context = SeededApplication.start();
+        authenticationManager = context.getBean(AuthenticationManager.class);
+
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setApplicationContext(context);
+        preAuthorize = new PreAuthorizeAuthorizationManager();
+        preAuthorize.setExpressionHandler(expressionHandler);
+
+        User user = context.getBean(UserRepository.class).findByEmail(email(USER_ID));
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        readOwnUser = new SimpleMethodInvocation(context.getBean(UserController.class),
+                UserController.class.getMethod("read", long.class), USER_ID);
+        // a todo of another user that USER_ID collaborates on: owner check fails, collaborator check passes
+        long sharedTodo = 1 + (ownerSharingWith(USER_ID) - 1) * TODOS_PER_USER;
+        readSharedTodo = new SimpleMethodInvocation(context.getBean(ToDoController.class),
+                ToDoController.class.getMethod("read", Long.class), sharedTodo);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email(USER_ID), PASSWORD));
+    }
+
+    /** hasAuthority('ADMIN') or authentication.principal.id == #id */
+    @Benchmark
+    public AuthorizationDecision preAuthorizePrincipalId() {
+        return preAuthorize.check(() -> authentication, readOwnUser);
+    }
+
+    /** hasAuthority('ADMIN') or @toDoController.isOwner(...) or @toDoController.isCollaborator(...) */
+    @Benchmark
+    public AuthorizationDecision preAuthorizeTodoAcl() {
+        return preAuthorize.check(() -> authentication, readSharedTodo);
+    }
+
+    private static long ownerSharingWith(long collaboratorId) {
+        for (long owner = 1; owner <= USERS; owner++) {
+            if (owner != collaboratorId && collaboratorOf(owner, 1) == collaboratorId) {
+                return owner;
+            }
+        }
+        throw new IllegalStateException("No todo is shared with user " + collaboratorId);
+    }
+}
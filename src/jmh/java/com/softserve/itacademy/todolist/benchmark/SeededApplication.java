@@ -0,0 +1,129 @@
+package com.softserve.itacademy.todolist.benchmark;
+
+import com.softserve.itacademy.todolist.ToDoListApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application on a private in-memory (or new file) H2 database migrated by Flyway and filled with
+ * {@value #USERS} users, {@value #TODOS_PER_USER} todos per user, {@value #COLLABORATORS_PER_TODO}
+ * collaborators and {@value #TASKS_PER_TODO} tasks per todo. Every user has {@link #PASSWORD};
+ * user {@value #ADMIN_ID} is the only ADMIN.
+ */
+final class SeededApplication {
+
+    static final int USERS = 100;
+    static final int TODOS_PER_USER = 10;
+    static final int COLLABORATORS_PER_TODO = 3;
+    static final int TASKS_PER_TODO = 100;
+    static final int TODOS = USERS * TODOS_PER_USER;
+    static final long ADMIN_ID = 1;
+    static final String PASSWORD = "Password1";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private SeededApplication() {
+    }
+
+    /** {@code properties} are extra {@code --name=value} arguments, e.g. to switch a cache off. */
+    static ConfigurableApplicationContext start(String... properties) {
+        ConfigurableApplicationContext context = startEmpty(properties);
+        seed(context.getBean(JdbcTemplate.class), context.getBean(PasswordEncoder.class));
+        return context;
+    }
+
+    /** Same application and database, left empty for a different data set. */
+    static ConfigurableApplicationContext startEmpty(String... properties) {
+        return run(Stream.concat(
+                Stream.of("--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"),
+                Stream.of(properties)).toArray(String[]::new));
+    }
+
+    /**
+     * Same data set in the database configured by {@code properties}, e.g. a persistence profile and
+     * {@code --todolist.h2.file}; the database must not exist yet.
+     */
+    static ConfigurableApplicationContext startOnFile(String... properties) {
+        ConfigurableApplicationContext context = run(properties);
+        seed(context.getBean(JdbcTemplate.class), context.getBean(PasswordEncoder.class));
+        return context;
+    }
+
+    private static ConfigurableApplicationContext run(String... properties) {
+        String[] args = Stream.concat(Stream.of(
+                        "--spring.flyway.locations=classpath:db/migration",
+                        "--spring.jpa.properties.hibernate.search.backend.directory.type=local-heap",
+                        "--server.port=0",
+                        "--todolist.jwt.generate-secret=true",
+                        "--logging.level.root=warn",
+                        "--logging.level.access=warn"),
+                Stream.of(properties)).toArray(String[]::new);
+        return SpringApplication.run(ToDoListApplication.class, args);
+    }
+
+    static String email(long userId) {
+        return "user" + userId + "@mail.com";
+    }
+
+    /** Owner of todo {@code todoId}. */
+    static long ownerOf(long todoId) {
+        return 1 + (todoId - 1) / TODOS_PER_USER;
+    }
+
+    /** The {@code n}-th collaborator of todos owned by {@code ownerId}, never the owner itself. */
+    static long collaboratorOf(long ownerId, int n) {
+        return 1 + (ownerId - 1 + n * 7L) % USERS;
+    }
+
+    private static void seed(JdbcTemplate jdbc, PasswordEncoder passwordEncoder) {
+        jdbc.update("insert into roles (id, name) values (1, 'ADMIN'), (2, 'USER')");
+        jdbc.update("insert into states (id, name) values (1, 'NEW'), (2, 'DOING'), (3, 'VERIFY'), (4, 'DONE')");
+
+        String password = passwordEncoder.encode(PASSWORD);
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            rows.add(new Object[]{id, email(id), password, id == ADMIN_ID ? 1 : 2});
+        }
+        jdbc.batchUpdate("insert into users (id, email, first_name, last_name, password, role_id) " +
+                         "values (?, ?, 'First', 'Last', ?, ?)", rows);
+
+        rows.clear();
+        List<Object[]> collaborators = new ArrayList<>();
+        long start = System.currentTimeMillis() - TODOS * 60_000L;
+        for (long id = 1; id <= TODOS; id++) {
+            rows.add(new Object[]{id, "To-Do #" + id, new Timestamp(start + id * 60_000L), ownerOf(id)});
+            for (int n = 1; n <= COLLABORATORS_PER_TODO; n++) {
+                collaborators.add(new Object[]{id, collaboratorOf(ownerOf(id), n)});
+            }
+        }
+        jdbc.batchUpdate("insert into todos (id, title, created_at, owner_id) values (?, ?, ?, ?)", rows);
+        jdbc.batchUpdate("insert into todo_collaborator (todo_id, collaborator_id) values (?, ?)", collaborators);
+
+        rows.clear();
+        String[] priorities = {"LOW", "MEDIUM", "HIGH"};
+        long taskId = 1;
+        for (long todoId = 1; todoId <= TODOS; todoId++) {
+            for (int n = 0; n < TASKS_PER_TODO; n++, taskId++) {
+                rows.add(new Object[]{taskId, "Task #" + taskId, priorities[n % 3], todoId, 1 + n % 4});
+                if (rows.size() == BATCH_SIZE) {
+                    insertTasks(jdbc, rows);
+                }
+            }
+        }
+        insertTasks(jdbc, rows);
+        jdbc.execute("alter sequence tasks_seq restart with " + (taskId + 100));
+    }
+
+    private static void insertTasks(JdbcTemplate jdbc, List<Object[]> rows) {
+        jdbc.batchUpdate("insert into tasks (id, name, priority, todo_id, state_id) values (?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+}
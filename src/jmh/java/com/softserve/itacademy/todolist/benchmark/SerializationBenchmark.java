@@ -0,0 +1,94 @@
+package com.softserve.itacademy.todolist.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
+import com.softserve.itacademy.todolist.model.Task;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.repository.TaskRepository;
+import com.softserve.itacademy.todolist.repository.ToDoRepository;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response DTO mapping plus JSON encoding with the application's ObjectMapper, for one
+ * todo (owner and collaborators) and the {@value SeededApplication#TASKS_PER_TODO} tasks of a todo.
+ * Entities are loaded once, so no database time is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private ToDo todo;
+    private List<Task> tasks;
+    private List<TaskResponseDto> taskDtos;
+
+    @Setup
+    public void setUp() {
+        context = SeededApplication.start();
+        objectMapper = context.getBean(ObjectMapper.class);
+        ToDoRepository todoRepository = context.getBean(ToDoRepository.class);
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> {
+                    todo = todoRepository.findById(1L).orElseThrow();
+                    Hibernate.initialize(todo.getOwner());
+                    Hibernate.initialize(todo.getCollaborators());
+                    tasks = taskRepository.getByTodoId(1L);
+                });
+        taskDtos = mapTasks();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ToDoResponseDto todoDto() {
+        return new ToDoResponseDto(todo);
+    }
+
+    @Benchmark
+    public byte[] todoDtoJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new ToDoResponseDto(todo));
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> taskDtos() {
+        return mapTasks();
+    }
+
+    @Benchmark
+    public byte[] taskDtosJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapTasks());
+    }
+
+    /** Encoding alone, on DTOs built once. */
+    @Benchmark
+    public byte[] taskJsonOnly() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taskDtos);
+    }
+
+    private List<TaskResponseDto> mapTasks() {
+        List<TaskResponseDto> dtos = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            dtos.add(new TaskResponseDto(task));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,73 @@
+package com.softserve.itacademy.todolist.benchmark;
+
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
+import com.softserve.itacademy.todolist.model.Task;
+import com.softserve.itacademy.todolist.service.TaskService;
+import com.softserve.itacademy.todolist.service.ToDoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.softserve.itacademy.todolist.benchmark.SeededApplication.TODOS;
+import static com.softserve.itacademy.todolist.benchmark.SeededApplication.USERS;
+
+/**
+ * Read paths of the task and todo services on the seeded database, with the Hibernate second-level
+ * and query caches on (as configured) and off (every call reaches H2).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServiceBenchmark {
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private ToDoService todoService;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        context = SeededApplication.start(
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+        taskService = context.getBean(TaskService.class);
+        todoService = context.getBean(ToDoService.class);
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> taskGetByTodoId() {
+        return taskService.getByTodoId(1 + random.nextInt(TODOS));
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> taskGetDtoByTodoId() {
+        return taskService.getDtoByTodoId(1 + random.nextInt(TODOS));
+    }
+
+    /** Replacement of ToDoRepository.getByUserId: first page of owned and shared todos. */
+    @Benchmark
+    public List<ToDoResponseDto> todoGetVisibleDto() {
+        return todoService.getVisibleDto(1 + random.nextInt(USERS), null, true, 51);
+    }
+
+    @Benchmark
+    public List<ToDoResponseDto> todoGetDtoByOwnerId() {
+        return todoService.getDtoByOwnerId(1 + random.nextInt(USERS));
+    }
+}
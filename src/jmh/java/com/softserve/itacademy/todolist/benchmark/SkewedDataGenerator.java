@@ -0,0 +1,151 @@
+package com.softserve.itacademy.todolist.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty, migrated database with users, todos, collaborators and tasks whose sizes follow
+ * the skew of real usage: a handful of power users own thousands of lists, most users own a few,
+ * task counts per list are geometric and collaborators are drawn mostly from a small group of
+ * popular users. The same seed always produces the same data.
+ *
+ * <p>User 1 is the only ADMIN; every user's password is {@link SeededApplication#PASSWORD}.
+ */
+final class SkewedDataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long TWO_YEARS_MILLIS = 2L * 365 * 24 * 60 * 60 * 1000;
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    int users = 2_000;
+    int powerUsers = 5;
+    int todosPerPowerUser = 2_000;
+    double meanTodosPerUser = 4;
+    double meanTasksPerTodo = 15;
+    int maxCollaboratorsPerTodo = 4;
+    long seed = 42;
+
+    /** What was generated, for picking request targets. */
+    static final class Dataset {
+        final int users;
+        final int powerUsers;
+        /** Todo ids by owner, index 0 unused. */
+        final long[][] todosByOwner;
+        final long todos;
+        final long tasks;
+
+        Dataset(int users, int powerUsers, long[][] todosByOwner, long todos, long tasks) {
+            this.users = users;
+            this.powerUsers = powerUsers;
+            this.todosByOwner = todosByOwner;
+            this.todos = todos;
+            this.tasks = tasks;
+        }
+
+        /** Power users are ids 2 .. powerUsers + 1. */
+        boolean isPowerUser(long userId) {
+            return userId >= 2 && userId <= powerUsers + 1;
+        }
+    }
+
+    Dataset generate(JdbcTemplate jdbc, String passwordHash) {
+        SplittableRandom random = new SplittableRandom(seed);
+        jdbc.update("insert into roles (id, name) values (1, 'ADMIN'), (2, 'USER')");
+        jdbc.update("insert into states (id, name) values (1, 'NEW'), (2, 'DOING'), (3, 'VERIFY'), (4, 'DONE')");
+
+        String insertUser = "insert into users (id, email, first_name, last_name, password, role_id) " +
+                            "values (?, ?, 'First', 'Last', ?, ?)";
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= users; id++) {
+            rows.add(new Object[]{id, SeededApplication.email(id), passwordHash, id == 1 ? 1 : 2});
+            if (rows.size() == BATCH_SIZE) {
+                flush(jdbc, rows, insertUser);
+            }
+        }
+        flush(jdbc, rows, insertUser);
+
+        String insertTodo = "insert into todos (id, title, created_at, owner_id) values (?, ?, ?, ?)";
+        String insertCollaborator = "insert into todo_collaborator (todo_id, collaborator_id) values (?, ?)";
+        String insertTask = "insert into tasks (id, name, priority, todo_id, state_id) values (?, ?, ?, ?, ?)";
+        List<Object[]> collaborators = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> tasks = new ArrayList<>(BATCH_SIZE);
+        long[][] todosByOwner = new long[users + 1][];
+        long now = System.currentTimeMillis();
+        long todoId = 0;
+        long taskId = 0;
+        for (int owner = 1; owner <= users; owner++) {
+            int count = owner >= 2 && owner <= powerUsers + 1
+                    ? todosPerPowerUser
+                    : geometric(random, meanTodosPerUser);
+            todosByOwner[owner] = new long[count];
+            for (int n = 0; n < count; n++) {
+                todoId++;
+                todosByOwner[owner][n] = todoId;
+                Timestamp createdAt = new Timestamp(now - (long) (random.nextDouble() * TWO_YEARS_MILLIS));
+                rows.add(new Object[]{todoId, "To-Do #" + todoId, createdAt, owner});
+
+                int collaboratorCount = random.nextInt(maxCollaboratorsPerTodo + 1);
+                long[] chosen = new long[collaboratorCount];
+                for (int c = 0; c < collaboratorCount; c++) {
+                    long collaborator = popularUser(random);
+                    if (collaborator != owner && !contains(chosen, c, collaborator)) {
+                        chosen[c] = collaborator;
+                        collaborators.add(new Object[]{todoId, collaborator});
+                    }
+                }
+                int taskCount = geometric(random, meanTasksPerTodo);
+                for (int t = 0; t < taskCount; t++) {
+                    taskId++;
+                    tasks.add(new Object[]{taskId, "Task #" + taskId, PRIORITIES[random.nextInt(3)], todoId,
+                            1 + random.nextInt(4)});
+                }
+                // todos go first: collaborator and task rows reference them
+                if (rows.size() + collaborators.size() + tasks.size() >= BATCH_SIZE) {
+                    flush(jdbc, rows, insertTodo);
+                    flush(jdbc, collaborators, insertCollaborator);
+                    flush(jdbc, tasks, insertTask);
+                }
+            }
+        }
+        flush(jdbc, rows, insertTodo);
+        flush(jdbc, collaborators, insertCollaborator);
+        flush(jdbc, tasks, insertTask);
+
+        // the application inserts after the generated ids
+        jdbc.execute("alter table users alter column id restart with " + (users + 1));
+        jdbc.execute("alter table todos alter column id restart with " + (todoId + 1));
+        jdbc.execute("alter sequence tasks_seq restart with " + (taskId + 100));
+        return new Dataset(users, powerUsers, todosByOwner, todoId, taskId);
+    }
+
+    /** User ids with a quadratic bias towards low ids, so a few users collaborate on many lists. */
+    long popularUser(SplittableRandom random) {
+        double r = random.nextDouble();
+        return 1 + (long) (users * r * r);
+    }
+
+    private static int geometric(SplittableRandom random, double mean) {
+        double p = 1 / mean;
+        return 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void flush(JdbcTemplate jdbc, List<Object[]> rows, String sql) {
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
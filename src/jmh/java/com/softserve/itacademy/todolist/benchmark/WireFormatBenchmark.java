@@ -0,0 +1,86 @@
+package com.softserve.itacademy.todolist.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.todolist.dto.PageResponseDto;
+import com.softserve.itacademy.todolist.dto.TaskFilter;
+import com.softserve.itacademy.todolist.service.TaskService;
+import com.softserve.itacademy.todolist.service.ToDoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of two responses in each negotiated format, with the mappers the message
+ * converters use: a page of 500 tasks ({@code GET /api/tasks?limit=500}) and an owner's todos
+ * ({@code GET /api/users/1/todos}). Decoding is to a tree, as a client without the DTOs would.
+ * Body sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WireFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper mapper;
+    private Object tasks;
+    private Object todos;
+    private byte[] tasksBody;
+    private byte[] todosBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = SeededApplication.start();
+        switch (format) {
+            case "smile":
+                mapper = context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+                break;
+            case "cbor":
+                mapper = context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+                break;
+            default:
+                mapper = context.getBean(ObjectMapper.class);
+        }
+        tasks = new PageResponseDto<>(context.getBean(TaskService.class)
+                .getPage(new TaskFilter(null, null, null, null, null), null, false, 500), null);
+        todos = context.getBean(ToDoService.class).getListDtoByOwnerId(1);
+        tasksBody = mapper.writeValueAsBytes(tasks);
+        todosBody = mapper.writeValueAsBytes(todos);
+        System.out.printf("%n%s: tasks %,d bytes, todos %,d bytes%n", format, tasksBody.length, todosBody.length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] encodeTasks() throws IOException {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public JsonNode decodeTasks() throws IOException {
+        return mapper.readTree(tasksBody);
+    }
+
+    @Benchmark
+    public byte[] encodeTodos() throws IOException {
+        return mapper.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public JsonNode decodeTodos() throws IOException {
+        return mapper.readTree(todosBody);
+    }
+}
@@ -2,8 +2,10 @@ package com.softserve.itacademy.todolist;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC is wired by ReactiveDataConfig: a ConnectionFactory bean would switch off the JDBC DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class ToDoListApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,81 @@
+package com.softserve.itacademy.todolist.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one {@code access} log event per request, after the response status is known. Runs ahead of
+ * the security filters so rejected requests are logged too; streamed responses are logged when the
+ * async request completes.
+ */
+@Slf4j(topic = "access")
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!log.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(start));
+            } else {
+                log(request, failed ? HttpStatus.INTERNAL_SERVER_ERROR.value() : response.getStatus(), start);
+            }
+        }
+    }
+
+    private static void log(HttpServletRequest request, int status, long start) {
+        log.info("method={} path={} status={} duration_ms={}", request.getMethod(), request.getRequestURI(), status,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static final class CompletionListener implements AsyncListener {
+
+        private final long start;
+
+        CompletionListener(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            log((HttpServletRequest) event.getSuppliedRequest(),
+                    ((HttpServletResponse) event.getSuppliedResponse()).getStatus(), start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.softserve.itacademy.todolist.config;
+
+import org.h2.tools.Server;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The in-process H2 TCP server of the {@code h2-server} profile, which {@code h2-client} instances
+ * connect to.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todolist.h2.tcp-server.enabled", havingValue = "true")
+public class H2TcpServerConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public Server h2TcpServer(@Value("${todolist.h2.tcp-server.port:9092}") int port,
+                              @Value("${todolist.h2.tcp-server.allow-others:false}") boolean allowOthers)
+            throws SQLException {
+        List<String> args = new ArrayList<>(List.of("-tcpPort", String.valueOf(port), "-baseDir", ".", "-ifExists"));
+        if (allowOthers) {
+            args.add("-tcpAllowOthers");
+        }
+        return Server.createTcpServer(args.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,39 @@
+package com.softserve.itacademy.todolist.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Connection pool sizing of the persistence profiles, see {@code application.properties}. The H2
+ * settings themselves are part of the JDBC URL.
+ */
+@Slf4j
+@Configuration
+public class PersistenceConfig {
+
+    private static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    // static, so the post processor exists before the DataSource is created
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        int perCore = environment.getProperty("todolist.datasource.pool-size-per-core", Integer.class, 0);
+        int spare = environment.getProperty("todolist.datasource.pool-size-spare", Integer.class, 0);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource && perCore > 0 && !environment.containsProperty(MAXIMUM_POOL_SIZE)) {
+                    HikariDataSource dataSource = (HikariDataSource) bean;
+                    int cores = Runtime.getRuntime().availableProcessors();
+                    dataSource.setMaximumPoolSize(cores * perCore + spare);
+                    dataSource.setMinimumIdle(dataSource.getMaximumPoolSize());
+                    log.info("Connection pool sized to {} for {} cores", dataSource.getMaximumPoolSize(), cores);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.softserve.itacademy.todolist.config;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC access for the streaming read API. The connection pool is derived from
+ * {@code spring.datasource.*}, so JDBC and R2DBC sessions always open the same embedded H2
+ * database; pool sizes come from {@code spring.r2dbc.pool.*}. Writes stay on JPA.
+ * <p>
+ * Only the {@link DatabaseClient} is a bean: Spring Boot skips the JDBC DataSource, and with it
+ * JPA, as soon as a {@code ConnectionFactory} bean exists. No R2DBC transaction manager is
+ * registered either, which keeps {@code @Transactional} bound to JPA.
+ */
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveDataConfig implements DisposableBean {
+
+    private static final String H2_URL_PREFIX = "jdbc:h2:";
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient(DataSourceProperties dataSource, R2dbcProperties r2dbc) {
+        String url = dataSource.determineUrl();
+        if (url == null || !url.startsWith(H2_URL_PREFIX)) {
+            throw new IllegalStateException("The reactive read API needs an H2 data source, got " + url);
+        }
+        H2ConnectionFactory h2 = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .url(url.substring(H2_URL_PREFIX.length()))
+                .username(dataSource.determineUsername())
+                .password(dataSource.determinePassword())
+                .build());
+        R2dbcProperties.Pool pool = r2dbc.getPool();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(h2)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
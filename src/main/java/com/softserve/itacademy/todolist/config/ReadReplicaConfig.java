@@ -0,0 +1,72 @@
+package com.softserve.itacademy.todolist.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * With {@code todolist.datasource.replica.jdbc-url} set, read-only transactions run on a replica pool
+ * and everything else on the {@code spring.datasource} pool. Both pools are beans of their own, so
+ * they are sized and reported (hikaricp_* metrics, pool names primary and replica) separately.
+ * <p>
+ * For read-only transactions Spring's Hibernate dialect already sets the session's flush mode to
+ * MANUAL and loads entities read-only, without the snapshots dirty checking needs.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todolist.datasource.replica.jdbc-url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("todolist.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource));
+    }
+
+    /*
+     * Spring holds a session's connection until the session closes. Should open-in-view be switched
+     * back on, a session would span the request, and a write after a read would run on the replica
+     * connection the read routed to.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "todolist.datasource.replica.stand-in.enabled", havingValue = "true")
+    public ReplicationStandIn replicationStandIn(HikariDataSource primaryDataSource,
+                                                 HikariDataSource replicaDataSource,
+                                                 @Value("${todolist.datasource.replica.stand-in.lag:100ms}")
+                                                 Duration lag) {
+        return new ReplicationStandIn(primaryDataSource, replicaDataSource, lag);
+    }
+}
@@ -0,0 +1,31 @@
+package com.softserve.itacademy.todolist.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out replica connections inside {@code @Transactional(readOnly = true)} and primary
+ * connections everywhere else, including outside transactions.
+ * <p>
+ * The read-only flag is only bound once the transaction has begun, after JPA asked for its
+ * connection, so this must sit behind a {@code LazyConnectionDataSourceProxy}, which defers the
+ * choice to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Route { PRIMARY, REPLICA }
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
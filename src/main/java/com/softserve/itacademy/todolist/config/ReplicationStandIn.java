@@ -0,0 +1,282 @@
+package com.softserve.itacademy.todolist.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a second H2 database in step with the primary, standing in for the replication a database
+ * server would provide, so the read/write split can be run and load tested locally.
+ * <p>
+ * On startup the replica is rebuilt from a script of the primary. From then on a {@link ReplicationTrigger}
+ * on every primary table records the keys of changed rows, and once their transaction has committed,
+ * a background thread copies the current rows from the primary every {@code lag}, or deletes them
+ * from the replica. Copying current rows instead of replaying changes makes the replica converge
+ * whatever order transactions commit in; in between it is behind the primary, like a real replica.
+ */
+@Slf4j
+public class ReplicationStandIn implements SmartInitializingSingleton, DisposableBean {
+
+    private static final String TRIGGER_PREFIX = "REPLICATE_";
+    private static final String PENDING_RESOURCE = ReplicationStandIn.class.getName() + ".pending";
+
+    // H2 instantiates the triggers itself, they find the running stand-in here
+    private static volatile ReplicationStandIn active;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration lag;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replication");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Set<List<Object>>> pending = new ConcurrentHashMap<>();
+    private Map<String, Table> tables;
+
+    public ReplicationStandIn(DataSource primary, DataSource replica, Duration lag) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lag = lag;
+    }
+
+    // after Flyway has migrated the primary, before the web server takes requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        try (Connection from = primary.getConnection(); Connection to = replica.getConnection()) {
+            tables = readTables(from);
+            active = this;
+            try (Statement statement = from.createStatement()) {
+                for (String table : tables.keySet()) {
+                    statement.execute("create trigger if not exists " + TRIGGER_PREFIX + table +
+                                      " after insert, update, delete on " + table + " for each row call \"" +
+                                      ReplicationTrigger.class.getName() + "\"");
+                }
+            }
+            copy(from, to);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot set up the replica", e);
+        }
+        long delay = Math.max(lag.toMillis(), 1);
+        executor.scheduleWithFixedDelay(this::drain, delay, delay, TimeUnit.MILLISECONDS);
+        log.info("Replicating {} tables with a lag of {}", tables.size(), lag);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        active = null;
+        try (Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+            for (String table : tables.keySet()) {
+                statement.execute("drop trigger if exists " + TRIGGER_PREFIX + table);
+            }
+        } catch (SQLException e) {
+            // the triggers do nothing without a running stand-in
+            log.warn("Could not drop the replication triggers", e);
+        }
+    }
+
+    /** Called by the triggers for every changed row. */
+    static void changed(String table, List<Object> key) {
+        ReplicationStandIn standIn = active;
+        if (standIn == null || !standIn.tables.containsKey(table)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // auto-commit statements, committed by the time the lag has passed
+            standIn.enqueue(table, key);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Set<List<Object>>> changes =
+                (Map<String, Set<List<Object>>>) TransactionSynchronizationManager.getResource(PENDING_RESOURCE);
+        if (changes == null) {
+            Map<String, Set<List<Object>>> bound = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(PENDING_RESOURCE, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bound.forEach((changedTable, keys) ->
+                            keys.forEach(changedKey -> standIn.enqueue(changedTable, changedKey)));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(PENDING_RESOURCE);
+                }
+            });
+            changes = bound;
+        }
+        changes.computeIfAbsent(table, name -> new HashSet<>()).add(key);
+    }
+
+    static Table table(String name) {
+        ReplicationStandIn standIn = active;
+        return standIn == null ? null : standIn.tables.get(name);
+    }
+
+    private void enqueue(String table, List<Object> key) {
+        pending.computeIfAbsent(table, name -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    private void drain() {
+        for (Map.Entry<String, Set<List<Object>>> entry : pending.entrySet()) {
+            Table table = tables.get(entry.getKey());
+            Set<List<Object>> keys = entry.getValue();
+            List<List<Object>> batch = new ArrayList<>(keys);
+            batch.forEach(keys::remove);
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                copyRows(table, batch);
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Replicating {} rows of {} failed, retrying", batch.size(), table.name, e);
+                keys.addAll(batch);
+            }
+        }
+    }
+
+    private void copyRows(Table table, List<List<Object>> keys) throws SQLException {
+        try (Connection from = primary.getConnection(); Connection to = replica.getConnection();
+             PreparedStatement select = from.prepareStatement(table.select);
+             PreparedStatement merge = to.prepareStatement(table.merge);
+             PreparedStatement delete = to.prepareStatement(table.delete)) {
+            to.setAutoCommit(false);
+            try {
+                for (List<Object> key : keys) {
+                    setAll(select, key);
+                    try (ResultSet row = select.executeQuery()) {
+                        if (row.next()) {
+                            for (int i = 1; i <= table.columns.size(); i++) {
+                                merge.setObject(i, row.getObject(i));
+                            }
+                            merge.addBatch();
+                        } else {
+                            setAll(delete, key);
+                            delete.addBatch();
+                        }
+                    }
+                }
+                merge.executeBatch();
+                delete.executeBatch();
+                to.commit();
+            } catch (SQLException | RuntimeException e) {
+                to.rollback();
+                throw e;
+            } finally {
+                to.setAutoCommit(true);
+            }
+        }
+    }
+
+    private void copy(Connection from, Connection to) throws SQLException {
+        try (Statement script = from.createStatement(); Statement target = to.createStatement();
+             ResultSet statements = script.executeQuery("script nopasswords nosettings")) {
+            target.execute("drop all objects");
+            while (statements.next()) {
+                String sql = statements.getString(1);
+                if (!sql.startsWith("--") && !sql.startsWith("CREATE FORCE TRIGGER")) {
+                    target.execute(sql);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Table> readTables(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String schema = connection.getSchema();
+        List<String> names = new ArrayList<>();
+        try (ResultSet rows = metaData.getTables(null, schema, null, new String[]{"TABLE", "BASE TABLE"})) {
+            while (rows.next()) {
+                names.add(rows.getString("TABLE_NAME"));
+            }
+        }
+        Map<String, Table> tables = new TreeMap<>();
+        for (String name : names) {
+            if (!name.equalsIgnoreCase("flyway_schema_history")) {
+                tables.put(name, readTable(metaData, schema, name));
+            }
+        }
+        return tables;
+    }
+
+    private static Table readTable(DatabaseMetaData metaData, String schema, String name) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (ResultSet rows = metaData.getColumns(null, schema, name, null)) {
+            while (rows.next()) {
+                columns.add(rows.getString("COLUMN_NAME"));
+            }
+        }
+        Map<Short, String> keyColumns = new TreeMap<>();
+        try (ResultSet rows = metaData.getPrimaryKeys(null, schema, name)) {
+            while (rows.next()) {
+                keyColumns.put(rows.getShort("KEY_SEQ"), rows.getString("COLUMN_NAME"));
+            }
+        }
+        if (keyColumns.isEmpty()) {
+            throw new IllegalStateException("Table " + name + " has no primary key to replicate by");
+        }
+        return new Table(name, columns, new ArrayList<>(keyColumns.values()));
+    }
+
+    private static void setAll(PreparedStatement statement, List<Object> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            statement.setObject(i + 1, values.get(i));
+        }
+    }
+
+    /** Column layout of a replicated table, in the order H2 passes rows to triggers. */
+    static final class Table {
+        final String name;
+        final List<String> columns;
+        final int[] keyIndexes;
+        final String select;
+        final String merge;
+        final String delete;
+
+        Table(String name, List<String> columns, List<String> keyColumns) {
+            this.name = name;
+            this.columns = columns;
+            this.keyIndexes = keyColumns.stream().mapToInt(columns::indexOf).toArray();
+            String where = keyColumns.stream().map(column -> column + " = ?").collect(Collectors.joining(" and "));
+            this.select = "select " + String.join(", ", columns) + " from " + name + " where " + where;
+            this.merge = "merge into " + name + " (" + String.join(", ", columns) + ") key (" +
+                         String.join(", ", keyColumns) + ") values (" +
+                         columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+            this.delete = "delete from " + name + " where " + where;
+        }
+
+        List<Object> key(Object[] row) {
+            List<Object> key = new ArrayList<>(keyIndexes.length);
+            for (int index : keyIndexes) {
+                key.add(row[index]);
+            }
+            return key;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.softserve.itacademy.todolist.config;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+
+/**
+ * Row trigger installed on the primary's tables by {@link ReplicationStandIn}. It only reports the
+ * keys of changed rows, and does nothing when no stand-in is running.
+ */
+public class ReplicationTrigger implements Trigger {
+
+    private String table;
+
+    @Override
+    public void init(Connection connection, String schemaName, String triggerName, String tableName, boolean before,
+                     int type) {
+        table = tableName;
+    }
+
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+        ReplicationStandIn.Table layout = ReplicationStandIn.table(table);
+        if (layout == null) {
+            return;
+        }
+        if (oldRow != null) {
+            ReplicationStandIn.changed(table, layout.key(oldRow));
+        }
+        if (newRow != null && (oldRow == null || !layout.key(oldRow).equals(layout.key(newRow)))) {
+            ReplicationStandIn.changed(table, layout.key(newRow));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.softserve.itacademy.todolist.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter @Setter
+@ConfigurationProperties("todolist.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    /**
+     * Hibernate cache regions by name. Every region used by an entity, collection or query
+     * must be listed here, otherwise the application fails to start.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter @Setter
+    public static class Region {
+        private long maxSize = 10_000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+}
@@ -1,5 +1,7 @@
 package com.softserve.itacademy.todolist.config;
 
+import com.softserve.itacademy.todolist.security.JwtAuthenticationFilter;
+import com.softserve.itacademy.todolist.security.JwtTokenProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpStatus;
@@ -15,15 +17,19 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Slf4j
 @EnableWebSecurity
+@EnableGlobalMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
     private final UserDetailsService userServiceImpl;
+    private final JwtTokenProvider tokenProvider;
 
-    public SecurityConfig(UserDetailsService userServiceImpl) {
+    public SecurityConfig(UserDetailsService userServiceImpl, JwtTokenProvider tokenProvider) {
         this.userServiceImpl = userServiceImpl;
+        this.tokenProvider = tokenProvider;
     }
 
     @Bean
@@ -32,9 +38,9 @@ public class SecurityConfig {
                 .exceptionHandling(eh -> eh
                         .authenticationEntryPoint(restAuthenticationEntryPoint())
                 )
-                .httpBasic(hb -> hb
-                        .authenticationEntryPoint(restAuthenticationEntryPoint())
-                )
+                // Credentials are checked once at /api/auth/login; every other request carries a bearer token.
+                .addFilterBefore(new JwtAuthenticationFilter(tokenProvider, restAuthenticationEntryPoint()),
+                        UsernamePasswordAuthenticationFilter.class)
                 .csrf().disable()
                 .headers(h -> h
                         .frameOptions().disable() // Для Postman и H2-консоли
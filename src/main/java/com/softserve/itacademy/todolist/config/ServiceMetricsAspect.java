@@ -0,0 +1,57 @@
+package com.softserve.itacademy.todolist.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Times every public method of the service implementations as {@code todolist.service}, tagged with
+ * the class, method and the simple name of the exception thrown ({@code none} on success).
+ * A {@link Flux} is timed until it terminates rather than until it is returned.
+ * Histogram and percentile settings come from the {@code management.metrics.distribution.*}
+ * properties like those of the other timers.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    static final String METRIC_NAME = "todolist.service";
+
+    private final MeterRegistry registry;
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("within(com.softserve.itacademy.todolist.service.impl..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            stop(sample, joinPoint, e.getClass().getSimpleName());
+            throw e;
+        }
+        if (result instanceof Flux) {
+            return ((Flux<?>) result)
+                    .doOnComplete(() -> stop(sample, joinPoint, "none"))
+                    .doOnError(e -> stop(sample, joinPoint, e.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(sample, joinPoint, "cancelled"));
+        }
+        stop(sample, joinPoint, "none");
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, ProceedingJoinPoint joinPoint, String exception) {
+        sample.stop(Timer.builder(METRIC_NAME)
+                .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", exception)
+                .register(registry));
+    }
+}
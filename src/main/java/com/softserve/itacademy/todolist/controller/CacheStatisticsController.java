@@ -0,0 +1,36 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.softserve.itacademy.todolist.dto.CacheRegionStatisticsDto;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/cache-statistics")
+public class CacheStatisticsController {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<CacheRegionStatisticsDto> getAll() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(statistics::getCacheRegionStatistics)
+                .filter(Objects::nonNull)
+                .map(CacheRegionStatisticsDto::new)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,81 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
+import com.softserve.itacademy.todolist.service.ReactiveReadService;
+import com.softserve.itacademy.todolist.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming counterparts of the list endpoints, read over R2DBC. Responses are NDJSON unless the
+ * client asks for {@code text/event-stream} or, for the bounded lists, a plain JSON array.
+ * <p>
+ * Server-sent events have their own handler methods: Spring MVC streams a {@link Flux} as events
+ * whenever {@code text/event-stream} is among the producible types, so listing it next to NDJSON
+ * would make events the answer to {@code Accept: *}{@code /*}.
+ * <p>
+ * The {@code @PreAuthorize} checks run before a handler returns its stream, so a denied caller gets
+ * a regular error response rather than a stream cut short.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@RequiredArgsConstructor
+public class ReactiveReadController {
+
+    private static final String TODO_TASKS = "/todos/{todo_id}/tasks";
+    private static final String USER_TODOS = "/users/{id}/todos";
+    private static final String TASKS = "/tasks";
+
+    private final ReactiveReadService readService;
+    private final UserService userService;
+
+    @GetMapping(value = TODO_TASKS, produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("isAuthenticated() and (hasRole('ADMIN') or " +
+            "@toDoController.isOwner(authentication.principal.id, #todoId) or " +
+            "@toDoController.isCollaborator(authentication.principal.id, #todoId))")
+    public ResponseEntity<Flux<TaskResponseDto>> readTasks(@PathVariable("todo_id") long todoId) {
+        return ResponseEntity.ok(readService.getTasksByTodoId(todoId));
+    }
+
+    @GetMapping(value = TODO_TASKS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated() and (hasRole('ADMIN') or " +
+            "@toDoController.isOwner(authentication.principal.id, #todoId) or " +
+            "@toDoController.isCollaborator(authentication.principal.id, #todoId))")
+    public ResponseEntity<Flux<TaskResponseDto>> readTaskEvents(@PathVariable("todo_id") long todoId) {
+        return readTasks(todoId);
+    }
+
+    @GetMapping(value = USER_TODOS, produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("isAuthenticated() and (hasRole('ADMIN') or authentication.principal.id == #id)")
+    public ResponseEntity<Flux<ToDoResponseDto>> getAllToDo(@PathVariable long id) {
+        // before the stream starts, while a 404 can still be sent
+        userService.readById(id);
+        return ResponseEntity.ok(readService.getTodosByOwnerId(id));
+    }
+
+    @GetMapping(value = USER_TODOS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated() and (hasRole('ADMIN') or authentication.principal.id == #id)")
+    public ResponseEntity<Flux<ToDoResponseDto>> getAllToDoEvents(@PathVariable long id) {
+        return getAllToDo(id);
+    }
+
+    @GetMapping(value = TASKS, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Flux<TaskResponseDto>> getAllTasks() {
+        return ResponseEntity.ok(readService.getAllTasks());
+    }
+
+    @GetMapping(value = TASKS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Flux<TaskResponseDto>> getAllTaskEvents() {
+        return getAllTasks();
+    }
+}
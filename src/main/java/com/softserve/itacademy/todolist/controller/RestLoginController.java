@@ -1,6 +1,12 @@
 package com.softserve.itacademy.todolist.controller;
 
+import com.softserve.itacademy.todolist.dto.RefreshTokenRequestDto;
 import com.softserve.itacademy.todolist.dto.RestAuthRequestDto;
+import com.softserve.itacademy.todolist.dto.TokenResponseDto;
+import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.security.JwtTokenProvider;
+import com.softserve.itacademy.todolist.service.UserService;
+import io.jsonwebtoken.JwtException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,16 +22,18 @@ import lombok.RequiredArgsConstructor;
 public class RestLoginController {
 
     private final AuthenticationManager authenticationManager;
+    private final JwtTokenProvider tokenProvider;
+    private final UserService userService;
 
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody RestAuthRequestDto authRequest) {
+    public ResponseEntity<?> login(@RequestBody RestAuthRequestDto authRequest) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
             );
 
             if (authentication.isAuthenticated()) {
-                return ResponseEntity.ok("Login successful");
+                return ResponseEntity.ok(issueTokens((User) authentication.getPrincipal()));
             } else {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
             }
@@ -34,4 +42,25 @@ public class RestLoginController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequestDto refreshRequest) {
+        try {
+            // The refresh path re-reads the user so that role changes and deleted accounts take effect.
+            User user = userService.readByEmail(tokenProvider.getRefreshTokenSubject(refreshRequest.getRefreshToken()));
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token");
+            }
+            return ResponseEntity.ok(issueTokens(user));
+        } catch (JwtException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token");
+        }
+    }
+
+    private TokenResponseDto issueTokens(User user) {
+        return new TokenResponseDto(
+                tokenProvider.createAccessToken(user),
+                tokenProvider.createRefreshToken(user),
+                tokenProvider.getAccessTokenTtl().getSeconds());
+    }
+}
@@ -0,0 +1,74 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.softserve.itacademy.todolist.dto.SearchResultDto;
+import com.softserve.itacademy.todolist.exception.BadRequestException;
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.service.SearchService;
+import com.softserve.itacademy.todolist.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final SearchService searchService;
+    private final UserService userService;
+
+    /**
+     * Searches task names or todo titles, together with the todo's title and its owner's name and
+     * e-mail. Users only find what they own or collaborate on, admins find everything. A token outlives
+     * its user, so the caller has to still exist.
+     */
+    @GetMapping
+    @PreAuthorize("isAuthenticated() and @searchController.exists(authentication.principal.id)")
+    public ResponseEntity<SearchResultDto<?>> search(@RequestParam(defaultValue = "") String q,
+                                                     @RequestParam(defaultValue = "tasks") String type,
+                                                     @RequestParam(required = false) String priority,
+                                                     @RequestParam(name = "state_id", required = false) Long stateId,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                                     @AuthenticationPrincipal User user) {
+        Long visibleTo = "ADMIN".equals(user.getRole().getName()) ? null : user.getId();
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        switch (type) {
+            case "tasks":
+                return ResponseEntity.ok(searchService.searchTasks(q, priority(priority), stateId, visibleTo, page, size));
+            case "todos":
+                if (priority != null || stateId != null) {
+                    throw new BadRequestException("priority and state_id only filter tasks");
+                }
+                return ResponseEntity.ok(searchService.searchTodos(q, visibleTo, page, size));
+            default:
+                throw new BadRequestException("type must be tasks or todos");
+        }
+    }
+
+    @PostMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN') and @searchController.exists(authentication.principal.id)")
+    public ResponseEntity<Void> reindex() throws InterruptedException {
+        searchService.reindexAll();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    private static Priority priority(String priority) {
+        Priority parsed = Priority.of(priority);
+        if (priority != null && parsed == null) {
+            throw new BadRequestException("Unknown priority '" + priority + "'");
+        }
+        return parsed;
+    }
+
+    public boolean exists(long userId) {
+        return userService.exists(userId);
+    }
+}
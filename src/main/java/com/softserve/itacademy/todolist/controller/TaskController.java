@@ -1,41 +1,60 @@
 package com.softserve.itacademy.todolist.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.softserve.itacademy.todolist.dto.*;
+import com.softserve.itacademy.todolist.exception.BadRequestException;
 import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.State;
 import com.softserve.itacademy.todolist.model.Task;
+import com.softserve.itacademy.todolist.model.ToDo;
 import com.softserve.itacademy.todolist.service.StateService;
 import com.softserve.itacademy.todolist.service.TaskService;
 import com.softserve.itacademy.todolist.service.ToDoService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @RestController
-@Slf4j
 @RequiredArgsConstructor
 @RequestMapping("/api/tasks")
 public class TaskController {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final TaskService taskService;
     private final ToDoService todoService;
     private final StateService stateService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/{todo_id}/create")
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<?> create(@PathVariable long todo_id, @RequestBody TaskRequestDto taskRequestDto) {
-        log.info("[POST] Request to create task for ToDo ID: {}", todo_id);
+        Priority priority = Priority.of(taskRequestDto.getPriority());
+        if (priority == null) {
+            throw new BadRequestException("Unknown priority '" + taskRequestDto.getPriority() + "'");
+        }
         Task task = new Task();
         task.setName(taskRequestDto.getName());
-        task.setPriority(Priority.valueOf(taskRequestDto.getPriority()));
+        task.setPriority(priority);
         task.setTodo(todoService.readById(todo_id));
-        task.setState(stateService.readById(1L));
+        task.setState(stateService.getByName("NEW"));
         taskService.create(task);
 
         URI location = ServletUriComponentsBuilder
@@ -46,37 +65,181 @@ public class TaskController {
         return ResponseEntity.created(location).body(new TaskResponseDto(task));
     }
 
+    @PostMapping("/{todo_id}/batch")
+    public ResponseEntity<List<BatchItemResultDto>> createBatch(@PathVariable long todo_id,
+                                                                @RequestBody List<TaskRequestDto> taskRequestDtos) {
+        checkBatchSize(taskRequestDtos.size());
+        ToDo todo = todoService.readById(todo_id);
+        State state = stateService.getByName("NEW");
+
+        BatchItemResultDto[] results = new BatchItemResultDto[taskRequestDtos.size()];
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            TaskRequestDto taskRequestDto = taskRequestDtos.get(i);
+            if (taskRequestDto == null || taskRequestDto.getName() == null || taskRequestDto.getName().isBlank()) {
+                results[i] = BatchItemResultDto.failure(i, null, HttpStatus.BAD_REQUEST, "The 'task_name' cannot be empty");
+                continue;
+            }
+            Priority priority = Priority.of(taskRequestDto.getPriority());
+            if (priority == null) {
+                results[i] = BatchItemResultDto.failure(i, null, HttpStatus.BAD_REQUEST,
+                        "Unknown priority '" + taskRequestDto.getPriority() + "'");
+                continue;
+            }
+            Task task = new Task();
+            task.setName(taskRequestDto.getName());
+            task.setPriority(priority);
+            task.setTodo(todo);
+            task.setState(state);
+            tasks.add(task);
+            indexes.add(i);
+        }
+
+        taskService.createAll(tasks);
+        for (int j = 0; j < tasks.size(); j++) {
+            int index = indexes.get(j);
+            results[index] = BatchItemResultDto.success(index, tasks.get(j).getId(), HttpStatus.CREATED);
+        }
+        return batchResponse(Arrays.asList(results), HttpStatus.CREATED);
+    }
+
+    @PatchMapping("/batch/state")
+    public ResponseEntity<List<BatchItemResultDto>> changeStates(@RequestBody List<TaskStateChangeDto> changes) {
+        checkBatchSize(changes.size());
+        BatchItemResultDto[] results = new BatchItemResultDto[changes.size()];
+        Map<Long, State> statesByTaskId = new HashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            TaskStateChangeDto change = changes.get(i);
+            if (change == null || change.getTaskId() == null) {
+                results[i] = BatchItemResultDto.failure(i, null, HttpStatus.BAD_REQUEST, "The 'task_id' cannot be empty");
+                continue;
+            }
+            State state = change.getStateId() == null ? null : findState(change.getStateId());
+            if (state == null) {
+                results[i] = BatchItemResultDto.failure(i, change.getTaskId(), HttpStatus.BAD_REQUEST,
+                        "State with id " + change.getStateId() + " not found");
+            } else if (statesByTaskId.putIfAbsent(change.getTaskId(), state) != null) {
+                results[i] = BatchItemResultDto.failure(i, change.getTaskId(), HttpStatus.BAD_REQUEST,
+                        "Task with id " + change.getTaskId() + " is listed more than once");
+            }
+        }
+
+        Set<Long> updated = taskService.changeStates(statesByTaskId).stream()
+                .map(Task::getId)
+                .collect(Collectors.toSet());
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                long taskId = changes.get(i).getTaskId();
+                results[i] = updated.contains(taskId)
+                        ? BatchItemResultDto.success(i, taskId, HttpStatus.OK)
+                        : BatchItemResultDto.failure(i, taskId, HttpStatus.NOT_FOUND, "Task with id " + taskId + " not found");
+            }
+        }
+        return batchResponse(Arrays.asList(results), HttpStatus.OK);
+    }
+
     @GetMapping("/{task_id}")
     @ResponseStatus(HttpStatus.OK)
-    @PreAuthorize("hasAuthority('ADMIN')")
+    @PreAuthorize("hasRole('ADMIN')")
     public TaskResponseDto read(@PathVariable long task_id) {
-        log.info("[GET] Request to read task");
         return new TaskResponseDto(taskService.readById(task_id));
     }
 
     @DeleteMapping("/{task_id}/todos/{todo_id}/delete")
-    @PreAuthorize("hasAuthority('ADMIN') or authentication.principal.id == #todo_id")
+    @PreAuthorize("isAuthenticated() and " +
+            "(hasRole('ADMIN') or @toDoController.isOwner(authentication.principal.id, #todo_id))")
     public ResponseEntity<?> delete(@PathVariable long todo_id, @PathVariable long task_id) {
-        log.info("[DELETE] Request to delete task");
+        // the check above is on the todo, so the task has to be one of its own
+        if (taskService.readById(task_id).getTodo().getId() != todo_id) {
+            throw new EntityNotFoundException("Task with id " + task_id + " not found in ToDo with id " + todo_id);
+        }
         taskService.delete(task_id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    /**
+     * Tasks in id order, or newest first with {@code sort=-id}, optionally narrowed down by
+     * priority, state, todo, the todo's owner and a (case-sensitive) name prefix.
+     */
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<TaskResponseDto> getAll() {
-        log.info("[GET] Request to read all tasks");
-        return taskService.getAll().stream()
-                .map(TaskResponseDto:: new)
-                .collect(Collectors.toList());
+    public PageResponseDto<TaskResponseDto> getAll(@RequestParam(required = false) String priority,
+                                                   @RequestParam(name = "state_id", required = false) Long stateId,
+                                                   @RequestParam(name = "todo_id", required = false) Long todoId,
+                                                   @RequestParam(name = "owner_id", required = false) Long ownerId,
+                                                   @RequestParam(required = false) String name,
+                                                   @RequestParam(defaultValue = "id") String sort,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        boolean newestFirst;
+        if ("-id".equals(sort)) {
+            newestFirst = true;
+        } else if ("id".equals(sort)) {
+            newestFirst = false;
+        } else {
+            throw new BadRequestException("Unsupported sort '" + sort + "', use id or -id");
+        }
+        Priority parsedPriority = Priority.of(priority);
+        if (priority != null && parsedPriority == null) {
+            throw new BadRequestException("Unknown priority '" + priority + "'");
+        }
+        TaskFilter filter = new TaskFilter(parsedPriority, stateId, todoId, ownerId, name);
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Long afterId = cursor == null ? null : CursorCodec.decodeId(cursor);
+        return PageResponseDto.of(taskService.getPage(filter, afterId, newestFirst, limit + 1), limit,
+                task -> CursorCodec.encode(task.getId()));
     }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        ObjectWriter writer = objectMapper.writerFor(TaskResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            taskService.streamAll(task -> {
+                try {
+                    writer.writeValue(generator, task);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.close();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/todos/{todo_id}")
-    @ResponseStatus(HttpStatus.OK)
-    public List<TaskResponseDto> getAllTodoTask(@PathVariable long todo_id) {
-        log.info("[GET] Request to read all tasks for current todo");
-        return taskService.getByTodoId(todo_id).stream()
-                .map(TaskResponseDto:: new)
-                .collect(Collectors.toList());
+    public ResponseEntity<TaskListDto> getAllTodoTask(@PathVariable long todo_id, WebRequest request) {
+        if (todoService.getTasksVersion(todo_id).filter(version -> version.isNotModified(request)).isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(taskService.getListDtoByTodoId(todo_id));
+    }
+
+    private static void checkBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch may contain at most " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    private State findState(long id) {
+        try {
+            return stateService.readById(id);
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
     }
 
-}
\ No newline at end of file
+    // 207 tells the client to inspect the per-item statuses.
+    private static ResponseEntity<List<BatchItemResultDto>> batchResponse(List<BatchItemResultDto> results,
+                                                                          HttpStatus allSucceeded) {
+        boolean succeeded = results.stream().allMatch(BatchItemResultDto::isSuccessful);
+        return ResponseEntity.status(succeeded ? allSucceeded : HttpStatus.MULTI_STATUS).body(results);
+    }
+}
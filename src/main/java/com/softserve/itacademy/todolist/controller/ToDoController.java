@@ -1,21 +1,31 @@
 package com.softserve.itacademy.todolist.controller;
 
-import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.dto.TaskListDto;
+import com.softserve.itacademy.todolist.dto.ToDoListDto;
 import com.softserve.itacademy.todolist.dto.ToDoRequestDto;
 import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
 import com.softserve.itacademy.todolist.dto.UserResponseDto;
+import com.softserve.itacademy.todolist.event.ToDoChangeEvent;
+import com.softserve.itacademy.todolist.event.ToDoChangeFeed;
 import com.softserve.itacademy.todolist.model.ToDo;
 import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.security.ToDoAclCache;
+import com.softserve.itacademy.todolist.service.RoleService;
 import com.softserve.itacademy.todolist.service.TaskService;
 import com.softserve.itacademy.todolist.service.ToDoService;
 import com.softserve.itacademy.todolist.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Flux;
 
 import javax.persistence.EntityNotFoundException;
 import java.net.URI;
@@ -33,13 +43,16 @@ public class ToDoController {
     private final ToDoService todoService;
     private final UserService userService;
     private final TaskService taskService;
+    private final ToDoAclCache aclCache;
+    private final RoleService roleService;
+    private final ToDoChangeFeed changeFeed;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PostMapping("/todos/create/users/{owner_id}")
     @ResponseStatus(HttpStatus.CREATED)
-    @PreAuthorize("hasAuthority('ADMIN') or authentication.principal.id == #ownerId")
+    @PreAuthorize("isAuthenticated() and (hasRole('ADMIN') or authentication.principal.id == #ownerId)")
     public ResponseEntity<?> create(@PathVariable("owner_id")Long ownerId,
                                     @RequestBody ToDoRequestDto toDoRequestDto) {
-        log.info("[POST] Request to create todo");
         ToDo toDo = new ToDo();
         toDo.setTitle(toDoRequestDto.getTitle());
         toDo.setOwner(userService.readById(ownerId));
@@ -54,58 +67,53 @@ public class ToDoController {
     }
 
     @GetMapping("/todos/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    @PreAuthorize("hasAuthority('ADMIN') or " +
+    @PreAuthorize("isAuthenticated() and (hasRole('ADMIN') or " +
             "@toDoController.isOwner(authentication.principal.id, #id) or " +
-            "@toDoController.isCollaborator(authentication.principal.id, #id)")
-    public ToDoResponseDto read(@PathVariable Long id) {
-        log.info("[GET] Request to read todo");
-        return new ToDoResponseDto(todoService.readById(id));
+            "@toDoController.isCollaborator(authentication.principal.id, #id))")
+    public ResponseEntity<ToDoResponseDto> read(@PathVariable Long id, WebRequest request) {
+        if (todoService.getVersion(id).filter(version -> version.isNotModified(request)).isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(new ToDoResponseDto(todoService.readWithCollaborators(id)));
     }
 
     @PatchMapping("/todos/{id}/update")
-    @PreAuthorize("hasAuthority('ADMIN') or @toDoController.isOwner(authentication.principal.id, #id)")
+    @PreAuthorize("isAuthenticated() and " +
+            "(hasRole('ADMIN') or @toDoController.isOwner(authentication.principal.id, #id))")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<?> update(@PathVariable Long id,
                                     @RequestBody ToDoRequestDto toDoRequestDto) {
-        log.info("[PATCH] Request to update todo");
         ToDo toDo = todoService.readById(id);
         toDo.setTitle(toDoRequestDto.getTitle());
-        todoService.update(toDo);
+        ToDo updated = todoService.update(toDo);
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
                 .path("/{id}")
-                .buildAndExpand(toDo.getId())
+                .buildAndExpand(updated.getId())
                 .toUri();
-        return ResponseEntity.created(location).body(new ToDoResponseDto(toDo));
+        return ResponseEntity.created(location).body(new ToDoResponseDto(updated));
     }
 
     @DeleteMapping("/todos/{id}/delete")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    @PreAuthorize("hasAuthority('ADMIN') or " +
-            "@toDoController.isOwner(authentication.principal.id, #id)")
+    @PreAuthorize("isAuthenticated() and " +
+            "(hasRole('ADMIN') or @toDoController.isOwner(authentication.principal.id, #id))")
     public ResponseEntity<?> delete(@PathVariable Long id) {
-        log.info("[DELETE] Request to delete todo with ID: {}", id);
         todoService.delete(id);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/todos")
     @ResponseStatus(HttpStatus.OK)
-    @PreAuthorize("hasAuthority('ADMIN')")
-    public List<ToDoResponseDto> getAll() {
-        log.info("[GET] Request to read all todos");
-        return todoService.getAll()
-                .stream()
-                .map(ToDoResponseDto::new)
-                .collect(Collectors.toList());
+    @PreAuthorize("hasRole('ADMIN')")
+    public ToDoListDto getAll() {
+        return todoService.getAllListDto();
     }
 
     @GetMapping("/todos/{todo_id}/collaborators")
     @ResponseStatus(HttpStatus.OK)
     public List<UserResponseDto> getAllCollaborator(@PathVariable("todo_id") Long todoId) {
-        log.info("[GET] Request to read collaborator in todo");
-        return todoService.readById(todoId)
+        return todoService.readWithCollaborators(todoId)
                 .getCollaborators()
                 .stream()
                 .map(UserResponseDto::new)
@@ -115,9 +123,8 @@ public class ToDoController {
     @GetMapping("/users/{user_id}/todos/{todo_id}/collaborators")
     @ResponseStatus(HttpStatus.OK)
     public List<UserResponseDto> getAllCollaborator(@PathVariable("user_id") Long userId, @PathVariable("todo_id") Long todoId) {
-        log.info("[GET] Request to read collaborators for todo with ID: {} and user with ID: {}", todoId, userId);
 
-        ToDo todo = todoService.readById(todoId);
+        ToDo todo = todoService.readWithCollaborators(todoId);
         if (!todo.getOwner().getId().equals(userId)) {
             log.warn("User with ID: {} is not authorized to access collaborators for todo with ID: {}", userId, todoId);
             throw new EntityNotFoundException("User is not authorized");
@@ -130,30 +137,41 @@ public class ToDoController {
     }
 
     @GetMapping("/todos/{todo_id}/tasks")
-    @ResponseStatus(HttpStatus.OK)
-    public List<TaskResponseDto> readTasks(@PathVariable("todo_id") Long todoId) {
-        log.info("[GET] Request to read tasks in todo");
-        return taskService.getByTodoId(todoId)
-                .stream()
-                .map(TaskResponseDto::new)
-                .collect(Collectors.toList());
+    public ResponseEntity<TaskListDto> readTasks(@PathVariable("todo_id") Long todoId, WebRequest request) {
+        if (todoService.getTasksVersion(todoId).filter(version -> version.isNotModified(request)).isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(taskService.getListDtoByTodoId(todoId));
+    }
+
+    /**
+     * Changes to the todo's tasks and collaborators as server-sent events, in place of polling
+     * {@code /todos/{todo_id}/tasks}. Reconnecting with {@code Last-Event-ID} resumes the feed; a
+     * {@code reset} event means events were missed and the list has to be fetched again.
+     */
+    @GetMapping(value = "/todos/{todo_id}/tasks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    // the owner is looked up first, as that also answers 404 for an unknown todo, admins included
+    @PreAuthorize("isAuthenticated() and (@toDoController.isOwner(authentication.principal.id, #todoId) or " +
+            "hasRole('ADMIN') or @toDoController.isCollaborator(authentication.principal.id, #todoId))")
+    public ResponseEntity<Flux<ServerSentEvent<ToDoChangeEvent>>> taskEvents(@PathVariable("todo_id") long todoId,
+                                                                             @RequestHeader(value = "Last-Event-ID", required = false)
+                                                                             String lastEventId) {
+        return ResponseEntity.ok(changeFeed.subscribe(todoId, lastEventId));
     }
 
     @GetMapping("/users/{user_id}/todos/{todo_id}/tasks")
-    @ResponseStatus(HttpStatus.OK)
-    public List<TaskResponseDto> readTasks(@PathVariable("user_id") Long userId, @PathVariable("todo_id") Long todoId) {
-        log.info("[GET] Request to read tasks for todo with ID: {} and user with ID: {}", todoId, userId);
+    public ResponseEntity<TaskListDto> readTasks(@PathVariable("user_id") Long userId,
+                                                 @PathVariable("todo_id") Long todoId, WebRequest request) {
 
-        ToDo todo = todoService.readById(todoId);
-        if (!todo.getOwner().getId().equals(userId)) {
+        // the ACL cache knows the owner, so a 304 is answered without loading the todo
+        if (!aclCache.isOwner(todoId, userId)) {
             log.warn("User with ID: {} is not authorized to access tasks for todo with ID: {}", userId, todoId);
             throw new EntityNotFoundException("User is not authorized");
         }
-
-        return taskService.getByTodoId(todoId)
-                .stream()
-                .map(TaskResponseDto::new)
-                .collect(Collectors.toList());
+        if (todoService.getTasksVersion(todoId).filter(version -> version.isNotModified(request)).isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(taskService.getListDtoByTodoId(todoId));
     }
 
     @PostMapping("/todos/{todo_id}/users/{user_id}/add")
@@ -161,17 +179,15 @@ public class ToDoController {
     public ResponseEntity<?> addCollaborator(@PathVariable("todo_id") Long todoId,
                                              @PathVariable("user_id") Long userId,
                                              Principal principal) {
-        log.info("[GET] Request to  add collaborator");
         User user = userService.readById(userId);
         ToDo todo = todoService.readById(todoId);
         User securityUser = userService.readByEmail(principal.getName());
-        if(securityUser.getRole().getName().equals("ADMIN") ||
-                securityUser.getId() == todo.getOwner().getId()) {
-            if (todo.getCollaborators().contains(user)) {
+        if(isAdmin(securityUser) ||
+                securityUser.getId().equals(todo.getOwner().getId())) {
+            if (!todoService.addCollaborator(todoId, user.getId())) {
                 return new ResponseEntity<>(HttpStatus.CONFLICT);
             }
-            todo.getCollaborators().add(user);
-            todoService.update(todo);
+            eventPublisher.publishEvent(ToDoChangeEvent.collaboratorAdded(todoId, userId));
             return new ResponseEntity<>(HttpStatus.CREATED);
         }
         return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
@@ -181,23 +197,27 @@ public class ToDoController {
     public ResponseEntity<?> removeCollaborator(@PathVariable("todo_id") Long todoId,
                                                 @PathVariable("user_id") Long userId,
                                                 Principal principal) {
-        log.info("[DELETE] Request to remove collaborator");
         ToDo todo = todoService.readById(todoId);
         User securityUser = userService.readByEmail(principal.getName());
-        if (securityUser.getRole().getName().equals("ADMIN") ||
-                securityUser.getId() == todo.getOwner().getId()) {
-            todo.getCollaborators().remove(userService.readById(userId));
-            todoService.update(todo);
+        if (isAdmin(securityUser) ||
+                securityUser.getId().equals(todo.getOwner().getId())) {
+            if (todoService.removeCollaborator(todoId, userService.readById(userId).getId())) {
+                eventPublisher.publishEvent(ToDoChangeEvent.collaboratorRemoved(todoId, userId));
+            }
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
         return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
     }
 
+    private boolean isAdmin(User user) {
+        return roleService.getByName("ADMIN").equals(user.getRole());
+    }
+
     public boolean isOwner(long id, long toDoId) {
-        return todoService.readById(toDoId).getOwner().getId() == id;
+        return aclCache.isOwner(toDoId, id);
     }
 
     public boolean isCollaborator(long id, long toDoId) {
-        return todoService.readById(toDoId).getCollaborators().contains(userService.readById(id));
+        return aclCache.isCollaborator(toDoId, id);
     }
 }
\ No newline at end of file
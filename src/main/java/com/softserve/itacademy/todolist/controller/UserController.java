@@ -1,40 +1,42 @@
 package com.softserve.itacademy.todolist.controller;
 
 import com.softserve.itacademy.todolist.dto.*;
+import com.softserve.itacademy.todolist.exception.BadRequestException;
 import com.softserve.itacademy.todolist.model.User;
 import com.softserve.itacademy.todolist.service.RoleService;
+import com.softserve.itacademy.todolist.service.ToDoService;
 import com.softserve.itacademy.todolist.service.UserService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
-@Slf4j
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final UserService userService;
     private final RoleService roleService;
+    private final ToDoService todoService;
 
     @PostMapping("/create")
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<UserResponseDto> create(@RequestBody UserRequestDto userRequestDto) {
-        log.info("[POST] Request to create user");
         User user = new User();
         user.setFirstName(userRequestDto.getFirstName());
         user.setLastName(userRequestDto.getLastName());
         user.setEmail(userRequestDto.getEmail());
         user.setPassword(userRequestDto.getPassword());
-        user.setRole(roleService.readById(2));
+        user.setRole(roleService.getByName("USER"));
         userService.create(user);
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -46,18 +48,16 @@ public class UserController {
 
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
-    @PreAuthorize("hasAuthority('ADMIN') or authentication.principal.id == #id")
+    @PreAuthorize("isAuthenticated() and (hasRole('ADMIN') or authentication.principal.id == #id)")
     public UserResponseDto read(@PathVariable long id) {
-        log.info("[GET] Request to read user");
         return new UserResponseDto(userService.readById(id));
     }
 
     @PatchMapping("/{id}/update")
-    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('USER') and authentication.principal.id == #id")
+    @PreAuthorize("isAuthenticated() and (hasRole('ADMIN') or hasRole('USER') and authentication.principal.id == #id)")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<UserResponseDto> update(@PathVariable long id,
                                     @RequestBody UserRequestDto userRequestDto) {
-        log.info("[Patch] Request to update user");
         User oldUser = userService.readById(id);
         oldUser.setFirstName(userRequestDto.getFirstName());
         oldUser.setLastName(userRequestDto.getLastName());
@@ -74,33 +74,49 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}/delete")
-    @PreAuthorize("hasAuthority('ADMIN') or authentication.principal.id == #id")
+    @PreAuthorize("isAuthenticated() and (hasRole('ADMIN') or authentication.principal.id == #id)")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ResponseEntity<Void> delete(@PathVariable long id) {
-        log.info("[DELETE] Request to delete user");
         userService.delete(id);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    @PreAuthorize("hasAuthority('ADMIN')")
-    public List<UserResponseDto> getAll() {
-        log.info("[GET] Request to read all users");
-        return userService.getAll().stream()
-                .map(UserResponseDto:: new)
-                .collect(Collectors.toList());
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserListDto getAll() {
+        return userService.getAllListDto();
     }
 
     @GetMapping("/{id}/todos")
+    @PreAuthorize("isAuthenticated() and (hasRole('ADMIN') or authentication.principal.id == #id)")
+    public ResponseEntity<ToDoListDto> getAllToDo(@PathVariable long id, WebRequest request) {
+        userService.readById(id);
+        if (todoService.getOwnedTodosVersion(id).filter(version -> version.isNotModified(request)).isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(todoService.getListDtoByOwnerId(id));
+    }
+
+    @GetMapping("/{id}/todos/visible")
     @ResponseStatus(HttpStatus.OK)
-    @PreAuthorize("hasAuthority('ADMIN') or authentication.principal.id == #id")
-    public List<ToDoResponseDto> getAllToDo(@PathVariable long id) {
-        log.info("[GET] Request to read ToDo in user");
-        return userService.readById(id)
-                .getMyTodos()
-                .stream()
-                .map(ToDoResponseDto:: new)
-                .collect(Collectors.toList());
+    @PreAuthorize("isAuthenticated() and (hasRole('ADMIN') or authentication.principal.id == #id)")
+    public PageResponseDto<ToDoResponseDto> getVisibleToDo(@PathVariable long id,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                                           @RequestParam(defaultValue = "-created_at") String sort) {
+        boolean newestFirst;
+        if ("-created_at".equals(sort)) {
+            newestFirst = true;
+        } else if ("created_at".equals(sort)) {
+            newestFirst = false;
+        } else {
+            throw new BadRequestException("Unsupported sort '" + sort + "', use created_at or -created_at");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        CursorCodec.CreatedAtKey after = cursor == null ? null : CursorCodec.decodeCreatedAtKey(cursor);
+        userService.readById(id);
+        return PageResponseDto.of(todoService.getVisibleDto(id, after, newestFirst, limit + 1), limit,
+                todo -> CursorCodec.encode(todo.getCreatedAt(), todo.getId()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+import org.springframework.http.HttpStatus;
+
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDto {
+    int index;
+    @JsonProperty("task_id")
+    Long taskId;
+    int status;
+    String error;
+
+    public static BatchItemResultDto success(int index, long taskId, HttpStatus status) {
+        return new BatchItemResultDto(index, taskId, status.value(), null);
+    }
+
+    public static BatchItemResultDto failure(int index, Long taskId, HttpStatus status, String error) {
+        return new BatchItemResultDto(index, taskId, status.value(), error);
+    }
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return status < 400;
+    }
+}
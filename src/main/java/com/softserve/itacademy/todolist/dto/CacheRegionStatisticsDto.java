@@ -0,0 +1,25 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+import org.hibernate.stat.CacheRegionStatistics;
+
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class CacheRegionStatisticsDto {
+    String region;
+    long hits;
+    long misses;
+    long puts;
+    double hitRatio;
+
+    public CacheRegionStatisticsDto(CacheRegionStatistics statistics) {
+        region = statistics.getRegionName();
+        hits = statistics.getHitCount();
+        misses = statistics.getMissCount();
+        puts = statistics.getPutCount();
+        long lookups = hits + misses;
+        hitRatio = lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,56 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.softserve.itacademy.todolist.exception.BadRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe tokens so clients never depend on the
+ * column the page is keyed on.
+ */
+public final class CursorCodec {
+
+    private CursorCodec() {
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static long decodeId(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            return Long.parseLong(value);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor '" + cursor + "'");
+        }
+    }
+
+    public static String encode(LocalDateTime createdAt, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static CreatedAtKey decodeCreatedAtKey(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = value.indexOf('|');
+            return new CreatedAtKey(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor '" + cursor + "'");
+        }
+    }
+
+    /** Position in a listing ordered by creation time, with the id breaking ties. */
+    @Value
+    public static class CreatedAtKey {
+        LocalDateTime createdAt;
+        long id;
+    }
+}
@@ -0,0 +1,26 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Value
+public class PageResponseDto<T> {
+    List<T> items;
+    @JsonProperty("next_cursor")
+    String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}: the extra row is only used
+     * to detect that another page exists and is never returned to the client.
+     */
+    public static <T> PageResponseDto<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new PageResponseDto<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new PageResponseDto<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+}
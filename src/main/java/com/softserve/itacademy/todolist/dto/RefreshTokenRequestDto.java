@@ -0,0 +1,11 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequestDto {
+
+    @JsonProperty("refresh_token")
+    private String refreshToken;
+}
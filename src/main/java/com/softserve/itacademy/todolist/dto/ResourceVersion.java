@@ -0,0 +1,37 @@
+package com.softserve.itacademy.todolist.dto;
+
+import lombok.Value;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Version and modification time of a resource or collection, read from a single row so a
+ * conditional GET is answered before anything is loaded or serialized.
+ */
+@Value
+public class ResourceVersion {
+    long version;
+    LocalDateTime updatedAt;
+
+    /**
+     * A strong validator: versions only grow, and every change of the representation raises it.
+     * Each wire format is a representation of its own, with an ETag of its own.
+     */
+    public String getETag(WireFormat format) {
+        return "\"" + version + format.getETagSuffix() + "\"";
+    }
+
+    public long getLastModified() {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Sets the ETag and Last-Modified headers and checks the request's preconditions against them.
+     * When this returns {@code true} the handler answers 304 without a body; the headers are already set.
+     */
+    public boolean isNotModified(WebRequest request) {
+        return request.checkNotModified(getETag(WireFormat.of(request)), getLastModified());
+    }
+}
@@ -0,0 +1,15 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SearchResultDto<T> {
+    List<T> items;
+    @JsonProperty("total_hits")
+    long totalHits;
+    int page;
+    int size;
+}
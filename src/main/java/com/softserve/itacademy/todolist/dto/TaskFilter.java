@@ -0,0 +1,14 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.softserve.itacademy.todolist.model.Priority;
+import lombok.Value;
+
+/** Conditions of a task listing; {@code null} fields don't restrict it. */
+@Value
+public class TaskFilter {
+    Priority priority;
+    Long stateId;
+    Long todoId;
+    Long ownerId;
+    String namePrefix;
+}
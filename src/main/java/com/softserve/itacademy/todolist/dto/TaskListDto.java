@@ -0,0 +1,95 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.softserve.itacademy.todolist.model.Priority;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A list of tasks kept column by column, written as the same JSON array as a
+ * {@code List<TaskResponseDto>} without an object per task or a reflective pass over it.
+ * Rows are added straight from the result set.
+ */
+public final class TaskListDto implements JsonSerializable {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString PRIORITY = new SerializedString("priority");
+    private static final SerializedString TODO_ID = new SerializedString("todoId");
+    private static final SerializedString STATE_ID = new SerializedString("stateId");
+    private static final SerializedString[] PRIORITIES = Arrays.stream(Priority.values())
+            .map(priority -> new SerializedString(priority.name()))
+            .toArray(SerializedString[]::new);
+
+    private long[] ids;
+    private String[] names;
+    private Priority[] priorities;
+    private long[] todoIds;
+    private long[] stateIds;
+    private int size;
+
+    public TaskListDto(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new long[capacity];
+        names = new String[capacity];
+        priorities = new Priority[capacity];
+        todoIds = new long[capacity];
+        stateIds = new long[capacity];
+    }
+
+    public void add(long id, String name, Priority priority, long todoId, long stateId) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            todoIds = Arrays.copyOf(todoIds, capacity);
+            stateIds = Arrays.copyOf(stateIds, capacity);
+        }
+        ids[size] = id;
+        names[size] = name;
+        priorities[size] = priority;
+        todoIds[size] = todoId;
+        stateIds[size] = stateId;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartArray(this, size);
+        for (int i = 0; i < size; i++) {
+            generator.writeStartObject();
+            generator.writeFieldName(ID);
+            generator.writeNumber(ids[i]);
+            generator.writeFieldName(NAME);
+            generator.writeString(names[i]);
+            generator.writeFieldName(PRIORITY);
+            if (priorities[i] == null) {
+                generator.writeNull();
+            } else {
+                generator.writeString(PRIORITIES[priorities[i].ordinal()]);
+            }
+            generator.writeFieldName(TODO_ID);
+            generator.writeNumber(todoIds[i]);
+            generator.writeFieldName(STATE_ID);
+            generator.writeNumber(stateIds[i]);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer)
+            throws IOException {
+        serialize(generator, provider);
+    }
+}
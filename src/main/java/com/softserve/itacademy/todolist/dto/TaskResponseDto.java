@@ -1,5 +1,6 @@
 package com.softserve.itacademy.todolist.dto;
 
+import com.softserve.itacademy.todolist.model.Priority;
 import com.softserve.itacademy.todolist.model.Task;
 import lombok.Value;
 
@@ -18,8 +19,17 @@ public class TaskResponseDto {
     public TaskResponseDto(Task task){
         this.id= task.getId();
         this.name= task.getName();
-        this.priority=task.getPriority().toString();
+        this.priority=task.getPriority() == null ? null : task.getPriority().toString();
         this.stateId=task.getState().getId();
         this.todoId=task.getTodo().getId();
     }
-}
\ No newline at end of file
+
+    // Used by JPQL constructor expressions, so no entity is loaded for the row.
+    public TaskResponseDto(long id, String name, Priority priority, long todoId, long stateId) {
+        this.id = id;
+        this.name = name;
+        this.priority = priority == null ? null : priority.toString();
+        this.todoId = todoId;
+        this.stateId = stateId;
+    }
+}
@@ -0,0 +1,14 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class TaskStateChangeDto {
+
+    @JsonProperty("task_id")
+    private Long taskId;
+
+    @JsonProperty("state_id")
+    private Long stateId;
+}
@@ -0,0 +1,119 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * A list of todos kept column by column, written as the same JSON array as a
+ * {@code List<ToDoResponseDto>}. The collaborator ids of all todos share one {@code long[]}, in
+ * todo order, so none of them is boxed.
+ */
+public final class ToDoListDto implements JsonSerializable {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString COLLABORATORS = new SerializedString("collaborators");
+    private static final SerializedString CREATED_AT = new SerializedString("created_at");
+    private static final SerializedString OWNER_ID = new SerializedString("owner_id");
+
+    private long[] ids;
+    private String[] titles;
+    private LocalDateTime[] createdAt;
+    private long[] ownerIds;
+    private int[] collaboratorCounts;
+    private int size;
+
+    private long[] collaboratorIds = new long[16];
+    private int collaboratorSize;
+    private int collaboratorTodo;
+
+    public ToDoListDto(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new long[capacity];
+        titles = new String[capacity];
+        createdAt = new LocalDateTime[capacity];
+        ownerIds = new long[capacity];
+        collaboratorCounts = new int[capacity];
+    }
+
+    /** Todos have to be added in ascending id order. */
+    public void add(long id, String title, LocalDateTime created, long ownerId) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            ownerIds = Arrays.copyOf(ownerIds, capacity);
+            collaboratorCounts = Arrays.copyOf(collaboratorCounts, capacity);
+        }
+        ids[size] = id;
+        titles[size] = title;
+        createdAt[size] = created;
+        ownerIds[size] = ownerId;
+        size++;
+    }
+
+    /**
+     * Collaborators have to be added after all todos, in ascending todo id order; those of todos
+     * not in the list are skipped.
+     */
+    public void addCollaborator(long todoId, long collaboratorId) {
+        while (collaboratorTodo < size && ids[collaboratorTodo] < todoId) {
+            collaboratorTodo++;
+        }
+        if (collaboratorTodo == size || ids[collaboratorTodo] != todoId) {
+            return;
+        }
+        if (collaboratorSize == collaboratorIds.length) {
+            collaboratorIds = Arrays.copyOf(collaboratorIds, collaboratorSize * 2);
+        }
+        collaboratorIds[collaboratorSize++] = collaboratorId;
+        collaboratorCounts[collaboratorTodo]++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+        // the application's date format, looked up once per list
+        JsonSerializer<Object> dates = provider.findValueSerializer(LocalDateTime.class);
+        int collaborator = 0;
+        generator.writeStartArray(this, size);
+        for (int i = 0; i < size; i++) {
+            generator.writeStartObject();
+            generator.writeFieldName(ID);
+            generator.writeNumber(ids[i]);
+            generator.writeFieldName(TITLE);
+            generator.writeString(titles[i]);
+            generator.writeFieldName(COLLABORATORS);
+            generator.writeArray(collaboratorIds, collaborator, collaboratorCounts[i]);
+            collaborator += collaboratorCounts[i];
+            generator.writeFieldName(CREATED_AT);
+            if (createdAt[i] == null) {
+                generator.writeNull();
+            } else {
+                dates.serialize(createdAt[i], generator, provider);
+            }
+            generator.writeFieldName(OWNER_ID);
+            generator.writeNumber(ownerIds[i]);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer)
+            throws IOException {
+        serialize(generator, provider);
+    }
+}
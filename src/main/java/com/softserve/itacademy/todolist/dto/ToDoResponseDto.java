@@ -30,4 +30,13 @@ public class ToDoResponseDto {
                 toDo.getCollaborators().stream().map(User::getId).collect(Collectors.toList()) :
                 new ArrayList<Long>();
     }
+
+    // Used by JPQL constructor expressions; collaborator ids are filled in from a separate join-table query.
+    public ToDoResponseDto(Long id, String title, LocalDateTime createdAt, Long ownerId) {
+        this.id = id;
+        this.title = title;
+        this.createdAt = createdAt;
+        this.ownerId = ownerId;
+        this.collaborators = new ArrayList<>();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TokenResponseDto {
+    String accessToken;
+    String refreshToken;
+    String tokenType = "Bearer";
+    long expiresIn;
+}
@@ -0,0 +1,86 @@
+package com.softserve.itacademy.todolist.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A list of users kept column by column, written as the same JSON array as a
+ * {@code List<UserResponseDto>}.
+ */
+public final class UserListDto implements JsonSerializable {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FIRST_NAME = new SerializedString("first_name");
+    private static final SerializedString LAST_NAME = new SerializedString("last_name");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString ROLE = new SerializedString("role");
+
+    private long[] ids;
+    private String[] firstNames;
+    private String[] lastNames;
+    private String[] emails;
+    private String[] roles;
+    private int size;
+
+    public UserListDto(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new long[capacity];
+        firstNames = new String[capacity];
+        lastNames = new String[capacity];
+        emails = new String[capacity];
+        roles = new String[capacity];
+    }
+
+    public void add(long id, String firstName, String lastName, String email, String role) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+            emails = Arrays.copyOf(emails, capacity);
+            roles = Arrays.copyOf(roles, capacity);
+        }
+        ids[size] = id;
+        firstNames[size] = firstName;
+        lastNames[size] = lastName;
+        emails[size] = email;
+        roles[size] = role;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartArray(this, size);
+        for (int i = 0; i < size; i++) {
+            generator.writeStartObject();
+            generator.writeFieldName(ID);
+            generator.writeNumber(ids[i]);
+            generator.writeFieldName(FIRST_NAME);
+            generator.writeString(firstNames[i]);
+            generator.writeFieldName(LAST_NAME);
+            generator.writeString(lastNames[i]);
+            generator.writeFieldName(EMAIL);
+            generator.writeString(emails[i]);
+            generator.writeFieldName(ROLE);
+            generator.writeString(roles[i]);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer)
+            throws IOException {
+        serialize(generator, provider);
+    }
+}
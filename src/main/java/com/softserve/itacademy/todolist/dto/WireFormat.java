@@ -0,0 +1,64 @@
+package com.softserve.itacademy.todolist.dto;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * The encodings responses are negotiated between, in the order of their message converters: JSON
+ * unless the {@code Accept} header prefers one of the binary formats.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON, ""),
+    SMILE(new MediaType("application", "x-jackson-smile"), "-smile"),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor");
+
+    private final MediaType mediaType;
+    private final String eTagSuffix;
+
+    WireFormat(MediaType mediaType, String eTagSuffix) {
+        this.mediaType = mediaType;
+        this.eTagSuffix = eTagSuffix;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /** Tells the representations of one version apart, JSON keeping the plain version. */
+    public String getETagSuffix() {
+        return eTagSuffix;
+    }
+
+    /**
+     * The format Spring MVC will write the response in: the first of the most specific, highest
+     * quality accepted types that a format matches. Anything unparseable is left to MVC to reject.
+     */
+    public static WireFormat of(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (WireFormat format : values()) {
+                if (type.isCompatibleWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,73 @@
+package com.softserve.itacademy.todolist.event;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.model.Task;
+import lombok.Value;
+
+/**
+ * A change to a ToDo's tasks or collaborators. Published by the writers once the change is made and
+ * delivered to the {@link ToDoChangeFeed} after the surrounding transaction commits; the same object
+ * is the {@code data} of the server-sent event.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ToDoChangeEvent {
+
+    public static final String TASK_CREATED = "task.created";
+    public static final String TASK_UPDATED = "task.updated";
+    public static final String TASK_DELETED = "task.deleted";
+    public static final String COLLABORATOR_ADDED = "collaborator.added";
+    public static final String COLLABORATOR_REMOVED = "collaborator.removed";
+    public static final String TODO_DELETED = "todo.deleted";
+    /** The client missed events and has to reload the task list. */
+    public static final String RESET = "reset";
+    /** First event of a new subscription, carrying the id to resume from. */
+    public static final String SUBSCRIBED = "subscribed";
+
+    String type;
+    @JsonProperty("todo_id")
+    long todoId;
+    TaskResponseDto task;
+    @JsonProperty("task_id")
+    Long taskId;
+    @JsonProperty("user_id")
+    Long userId;
+
+    public static ToDoChangeEvent taskCreated(Task task) {
+        return new ToDoChangeEvent(TASK_CREATED, task.getTodo().getId(), new TaskResponseDto(task), task.getId(), null);
+    }
+
+    public static ToDoChangeEvent taskUpdated(Task task) {
+        return new ToDoChangeEvent(TASK_UPDATED, task.getTodo().getId(), new TaskResponseDto(task), task.getId(), null);
+    }
+
+    public static ToDoChangeEvent taskDeleted(Task task) {
+        return new ToDoChangeEvent(TASK_DELETED, task.getTodo().getId(), null, task.getId(), null);
+    }
+
+    public static ToDoChangeEvent collaboratorAdded(long todoId, long userId) {
+        return new ToDoChangeEvent(COLLABORATOR_ADDED, todoId, null, null, userId);
+    }
+
+    public static ToDoChangeEvent collaboratorRemoved(long todoId, long userId) {
+        return new ToDoChangeEvent(COLLABORATOR_REMOVED, todoId, null, null, userId);
+    }
+
+    public static ToDoChangeEvent todoDeleted(long todoId) {
+        return new ToDoChangeEvent(TODO_DELETED, todoId, null, null, null);
+    }
+
+    static ToDoChangeEvent reset(long todoId) {
+        return new ToDoChangeEvent(RESET, todoId, null, null, null);
+    }
+
+    static ToDoChangeEvent subscribed(long todoId) {
+        return new ToDoChangeEvent(SUBSCRIBED, todoId, null, null, null);
+    }
+
+    boolean isTerminal() {
+        return TODO_DELETED.equals(type);
+    }
+}
@@ -0,0 +1,202 @@
+package com.softserve.itacademy.todolist.event;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-ToDo feed of {@link ToDoChangeEvent}s as server-sent events.
+ * <p>
+ * A ToDo gets a topic with its first subscriber; the topic numbers its events and keeps the last
+ * {@code history-size} of them. Events of a ToDo nobody subscribed to are dropped, as no client can
+ * resume from them. Event ids are {@code <topic>-<sequence>}, so a client reconnecting with
+ * {@code Last-Event-ID} gets what it missed; when that is no longer retained, or the topic was evicted
+ * or the server restarted in between, it gets a {@code reset} event and reloads the task list instead.
+ * Every subscriber reads through its own buffer of {@code subscriber-buffer-size} events and is
+ * disconnected when the buffer overflows, so a slow client never holds back publishing or the other
+ * subscribers.
+ */
+@Slf4j
+@Component
+public class ToDoChangeFeed {
+
+    private static final String STAMP_PREFIX = Long.toString(System.currentTimeMillis(), 36) + ".";
+
+    private final Cache<Long, Topic> topics;
+    private final int historySize;
+    private final int bufferSize;
+    private final Duration heartbeat;
+    private final AtomicLong topicCounter = new AtomicLong();
+    private final Counter dropped;
+
+    public ToDoChangeFeed(@Value("${todolist.change-feed.max-todos:10000}") int maxTodos,
+                          @Value("${todolist.change-feed.history-size:128}") int historySize,
+                          @Value("${todolist.change-feed.subscriber-buffer-size:1024}") int bufferSize,
+                          @Value("${todolist.change-feed.heartbeat:30s}") Duration heartbeat,
+                          MeterRegistry registry) {
+        this.historySize = historySize;
+        // a resuming subscriber is replayed up to the whole history at once
+        this.bufferSize = Math.max(bufferSize, historySize);
+        this.heartbeat = heartbeat;
+        this.topics = Caffeine.newBuilder()
+                .maximumSize(maxTodos)
+                .<Long, Topic>removalListener((todoId, topic, cause) -> {
+                    if (topic != null) {
+                        topic.sink.tryEmitComplete();
+                    }
+                })
+                .build();
+        this.dropped = Counter.builder("todolist.change_feed.dropped")
+                .description("Subscribers disconnected because their buffer overflowed")
+                .register(registry);
+        registry.gauge("todolist.change_feed.topics", topics, cache -> cache.estimatedSize());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(ToDoChangeEvent event) {
+        Topic topic = topics.getIfPresent(event.getTodoId());
+        if (topic == null) {
+            return;
+        }
+        topic.emit(event);
+        if (event.isTerminal()) {
+            topics.invalidate(event.getTodoId());
+        }
+    }
+
+    /**
+     * @param lastEventId the {@code Last-Event-ID} the client reconnects with, {@code null} on a first
+     *                    connection
+     */
+    public Flux<ServerSentEvent<ToDoChangeEvent>> subscribe(long todoId, String lastEventId) {
+        return Flux.defer(() -> {
+            Topic topic = topic(todoId);
+            long current = topic.sequence();
+            long resumeAfter = topic.resumePoint(lastEventId);
+            long after = resumeAfter < 0 ? current : resumeAfter;
+            AtomicLong delivered = new AtomicLong(after);
+
+            // the overflow error itself would only arrive after the buffer is drained, so the
+            // subscriber is completed from the outside as soon as it overflows
+            Sinks.Empty<Void> overflowed = Sinks.empty();
+            Flux<ServerSentEvent<ToDoChangeEvent>> changes = topic.sink.asFlux()
+                    .filter(change -> change.sequence > after)
+                    .onBackpressureBuffer(bufferSize, change -> {
+                        dropped.increment();
+                        log.debug("Disconnecting a slow subscriber of todo {}", todoId);
+                        overflowed.tryEmitEmpty();
+                    }, BufferOverflowStrategy.ERROR)
+                    // a gap means events left the history before this subscriber read them
+                    .concatMapIterable(change -> {
+                        long previous = delivered.getAndSet(change.sequence);
+                        ServerSentEvent<ToDoChangeEvent> event = topic.toEvent(change.sequence, change.event);
+                        return previous == change.sequence - 1
+                                ? List.of(event)
+                                : List.of(topic.toEvent(change.sequence - 1, ToDoChangeEvent.reset(todoId)), event);
+                    }, 1)
+                    .takeUntil(event -> event.data() != null && event.data().isTerminal());
+
+            Flux<ServerSentEvent<ToDoChangeEvent>> first;
+            if (lastEventId == null) {
+                first = Flux.just(topic.toEvent(current, ToDoChangeEvent.subscribed(todoId)));
+            } else if (resumeAfter < 0) {
+                first = Flux.just(topic.toEvent(current, ToDoChangeEvent.reset(todoId)));
+            } else {
+                first = Flux.empty();
+            }
+            // comments keep proxies from closing an idle stream and reveal clients that went away
+            Sinks.Empty<Void> done = Sinks.empty();
+            Flux<ServerSentEvent<ToDoChangeEvent>> keepAlive = Flux.interval(heartbeat, heartbeat)
+                    .map(tick -> ServerSentEvent.<ToDoChangeEvent>builder().comment("keep-alive").build())
+                    .takeUntilOther(done.asMono());
+            // no prefetch downstream of the buffer, so it is what holds a slow subscriber's backlog
+            return Flux.merge(1, Flux.concat(first, changes).doFinally(signal -> done.tryEmitEmpty()), keepAlive)
+                    .takeUntilOther(overflowed.asMono());
+        });
+    }
+
+    private Topic topic(long todoId) {
+        return topics.get(todoId, id -> new Topic(STAMP_PREFIX + Long.toString(topicCounter.incrementAndGet(), 36),
+                Sinks.many().replay().limit(historySize)));
+    }
+
+    private static final class Change {
+        final long sequence;
+        final ToDoChangeEvent event;
+
+        Change(long sequence, ToDoChangeEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+
+    private static final class Topic {
+        final String stamp;
+        final Sinks.Many<Change> sink;
+        // numbers and emits in one step, so the sink sees events in sequence order and one at a time
+        private final ReentrantLock lock = new ReentrantLock();
+        private long sequence;
+
+        Topic(String stamp, Sinks.Many<Change> sink) {
+            this.stamp = stamp;
+            this.sink = sink;
+        }
+
+        void emit(ToDoChangeEvent event) {
+            lock.lock();
+            try {
+                sequence++;
+                sink.tryEmitNext(new Change(sequence, event));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long sequence() {
+            lock.lock();
+            try {
+                return sequence;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** The sequence to resume after, or -1 if the id belongs to another topic or is unknown. */
+        long resumePoint(String lastEventId) {
+            if (lastEventId == null) {
+                return -1;
+            }
+            int separator = lastEventId.lastIndexOf('-');
+            if (separator < 0 || !stamp.equals(lastEventId.substring(0, separator))) {
+                return -1;
+            }
+            try {
+                long after = Long.parseLong(lastEventId.substring(separator + 1));
+                return after >= 0 && after <= sequence() ? after : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        ServerSentEvent<ToDoChangeEvent> toEvent(long sequence, ToDoChangeEvent event) {
+            return ServerSentEvent.builder(event)
+                    .id(stamp + "-" + sequence)
+                    .event(event.getType())
+                    .build();
+        }
+    }
+}
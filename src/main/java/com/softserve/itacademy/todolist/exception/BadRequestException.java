@@ -0,0 +1,8 @@
+package com.softserve.itacademy.todolist.exception;
+
+/** A request parameter the client got wrong, such as a malformed cursor or an unknown sort. */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
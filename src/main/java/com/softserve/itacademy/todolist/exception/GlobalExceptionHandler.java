@@ -3,8 +3,14 @@ package com.softserve.itacademy.todolist.exception;
 import com.softserve.itacademy.todolist.dto.ExceptionDto;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -13,13 +19,14 @@ import org.springframework.web.context.request.WebRequest;
 import javax.persistence.EntityNotFoundException;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
 
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, WebRequest request) {
         log.error("Handler 'handleMethodArgumentNotValid' caught 'MethodArgumentNotValidException'");
@@ -40,6 +47,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(exception, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ExceptionDto> handleBadRequestException(BadRequestException ex, WebRequest request) {
+        log.error("Handler 'handleBadRequestException' caught 'BadRequestException'");
+        ExceptionDto exception = new ExceptionDto(
+                LocalDateTime.now(), ex.getMessage(), HttpStatus.BAD_REQUEST.value()
+        );
+
+        return new ResponseEntity<>(exception, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ExceptionDto> handleEntityNotFoundException(EntityNotFoundException ex, WebRequest request) {
         log.error("Handler 'handleEntityNotFoundException' caught 'EntityNotFoundException'");
@@ -50,15 +67,32 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(exception, HttpStatus.NOT_FOUND);
     }
 
+    // the entity changed between reading and writing it, the client can reload and retry
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionDto> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex,
+                                                                                WebRequest request) {
+        log.error("Handler 'handleOptimisticLockingFailureException' caught 'OptimisticLockingFailureException'");
+        ExceptionDto exception = new ExceptionDto(
+                LocalDateTime.now(), "The resource was changed concurrently, reload it and retry",
+                HttpStatus.CONFLICT.value()
+        );
+
+        return new ResponseEntity<>(exception, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ExceptionDto> accessDeniedErrorHandler(AccessDeniedException ex, WebRequest request) {
         log.error("Handler 'accessDeniedErrorHandler' caught 'AccessDeniedException'");
+        // a request without a token may still succeed with one, an authenticated caller may not
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        HttpStatus status = authentication == null || trustResolver.isAnonymous(authentication)
+                ? HttpStatus.UNAUTHORIZED : HttpStatus.FORBIDDEN;
         ExceptionDto exceptionDto = new ExceptionDto(
                 LocalDateTime.now(),
                 ex.getMessage(),
-                HttpStatus.UNAUTHORIZED.value()
+                status.value()
         );
-        return new ResponseEntity<>(exceptionDto, HttpStatus.UNAUTHORIZED);
+        return new ResponseEntity<>(exceptionDto, status);
     }
 
     @ExceptionHandler(Exception.class)
@@ -1,5 +1,17 @@
 package com.softserve.itacademy.todolist.model;
 
 public enum Priority {
-    LOW, MEDIUM, HIGH
+    LOW, MEDIUM, HIGH;
+
+    /** The priority with the given name in any case, {@code null} if there is none. */
+    public static Priority of(String name) {
+        if (name != null) {
+            for (Priority priority : values()) {
+                if (priority.name().equalsIgnoreCase(name)) {
+                    return priority;
+                }
+            }
+        }
+        return null;
+    }
 }
@@ -4,33 +4,66 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.search.mapper.pojo.automaticindexing.ReindexOnUpdate;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.*;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Getter @Setter @NoArgsConstructor
 @Entity
 @Table(name = "tasks")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task")
+@Indexed(index = "task")
+@NamedEntityGraph(name = Task.WITH_STATE, attributeNodes = @NamedAttributeNode("state"))
 public class Task {
+    /** Fetch plan of task lists: the state joined in; the todo stays a reference by id. */
+    public static final String WITH_STATE = "Task.withState";
+
+    // A pooled sequence instead of IDENTITY lets Hibernate batch inserts (one nextval per 50 rows).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
+    @FullTextField
     private String name;
 
     @Column(name = "priority")
     @Enumerated(EnumType.STRING)
+    @KeywordField
     private Priority priority;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "todo_id")
+    @IndexedEmbedded(includePaths = {"id", "title", "owner.id", "owner.firstName", "owner.lastName", "owner.email",
+            "collaborators.id"})
     private ToDo todo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "state_id")
+    @IndexedEmbedded(includePaths = "id")
+    @IndexingDependency(reindexOnUpdate = ReindexOnUpdate.SHALLOW)
     private State state;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -50,8 +83,8 @@ public class Task {
                "id = " + id +
                ", name = '" + name + '\'' +
                ", priority = " + priority +
-               ", todo = " + todo +
-               ", state = " + state +
+               ", todoId = " + (todo == null ? null : todo.getId()) +
+               ", stateId = " + (state == null ? null : state.getId()) +
                " }";
     }
 }
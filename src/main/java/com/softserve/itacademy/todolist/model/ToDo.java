@@ -4,6 +4,10 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.search.mapper.pojo.automaticindexing.ReindexOnUpdate;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.*;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -13,31 +17,62 @@ import java.util.Objects;
 
 @Getter @Setter @NoArgsConstructor
 @Entity @Table(name = "todos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "todo")
+@Indexed(index = "todo")
+@NamedEntityGraph(name = ToDo.WITH_COLLABORATORS, attributeNodes = {
+        @NamedAttributeNode("owner"),
+        @NamedAttributeNode(value = "collaborators", subgraph = "collaborator")
+}, subgraphs = @NamedSubgraph(name = "collaborator", attributeNodes = @NamedAttributeNode("role")))
 public class ToDo {
+    /** Fetch plan of the todo pages: the owner and the collaborators with their roles, in one query. */
+    public static final String WITH_COLLABORATORS = "ToDo.withCollaborators";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GenericField
     private Long id;
 
     @NotBlank(message = "The 'title' cannot be empty")
     @Column(name = "title", nullable = false, unique = true)
+    @FullTextField
     private String title;
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    // also raised when the collaborators change, the collection being owned by this side
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
+    @IndexedEmbedded(includePaths = {"id", "firstName", "lastName", "email"})
     private User owner;
 
     @OneToMany(mappedBy = "todo", cascade = CascadeType.REMOVE)
     private List<Task> tasks;
 
+    // ids never change, so only adding or removing collaborators needs a reindex
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "todo.collaborators")
+    @IndexedEmbedded(includePaths = "id")
+    @IndexingDependency(reindexOnUpdate = ReindexOnUpdate.SHALLOW)
     @JoinTable(name = "todo_collaborator",
             joinColumns = @JoinColumn(name = "todo_id"),
             inverseJoinColumns = @JoinColumn(name = "collaborator_id"))
     private List<User> collaborators;
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
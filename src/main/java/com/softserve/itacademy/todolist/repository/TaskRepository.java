@@ -1,12 +1,35 @@
 package com.softserve.itacademy.todolist.repository;
 
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
 import com.softserve.itacademy.todolist.model.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "task.byTodo")
+    })
+    @EntityGraph(Task.WITH_STATE)
     @Query("from Task where todo.id = :todoId")
     List<Task> getByTodoId(long todoId);
+
+    @Query("select new com.softserve.itacademy.todolist.dto.TaskResponseDto(t.id, t.name, t.priority, t.todo.id, t.state.id) " +
+           "from Task t where t.todo.id = :todoId order by t.id")
+    List<TaskResponseDto> findDtoByTodoId(long todoId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.softserve.itacademy.todolist.dto.TaskResponseDto(t.id, t.name, t.priority, t.todo.id, t.state.id) " +
+           "from Task t order by t.id")
+    Stream<TaskResponseDto> streamAll();
 }
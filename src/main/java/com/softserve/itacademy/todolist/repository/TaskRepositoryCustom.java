@@ -0,0 +1,21 @@
+package com.softserve.itacademy.todolist.repository;
+
+import com.softserve.itacademy.todolist.dto.TaskListDto;
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.model.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * The first {@code limit} tasks matching the specification, selected straight into DTOs and
+     * without the count query a {@code Page} would add.
+     */
+    List<TaskResponseDto> findDtoPage(Specification<Task> specification, Sort sort, int limit);
+
+    /** The todo's tasks in id order, read from JDBC columns into a {@link TaskListDto}. */
+    TaskListDto findListDtoByTodoId(long todoId);
+}
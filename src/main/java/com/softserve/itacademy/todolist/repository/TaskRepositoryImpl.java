@@ -0,0 +1,63 @@
+package com.softserve.itacademy.todolist.repository;
+
+import com.softserve.itacademy.todolist.dto.TaskListDto;
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.Task;
+import org.hibernate.Session;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskResponseDto> findDtoPage(Specification<Task> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponseDto> query = cb.createQuery(TaskResponseDto.class);
+        Root<Task> task = query.from(Task.class);
+        // todo.id and state.id are read from the foreign keys, without joining their tables
+        query.select(cb.construct(TaskResponseDto.class, task.get("id"), task.get("name"), task.get("priority"),
+                task.get("todo").get("id"), task.get("state").get("id")));
+        Predicate predicate = specification.toPredicate(task, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, task, cb));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public TaskListDto findListDtoByTodoId(long todoId) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            TaskListDto tasks = new TaskListDto(64);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select id, name, priority, todo_id, state_id from tasks where todo_id = ? order by id")) {
+                statement.setLong(1, todoId);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        String priority = rows.getString(3);
+                        tasks.add(rows.getLong(1), rows.getString(2),
+                                priority == null ? null : Priority.valueOf(priority), rows.getLong(4), rows.getLong(5));
+                    }
+                }
+            }
+            return tasks;
+        });
+    }
+}
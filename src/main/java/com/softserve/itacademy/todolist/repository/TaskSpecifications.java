@@ -0,0 +1,53 @@
+package com.softserve.itacademy.todolist.repository;
+
+import com.softserve.itacademy.todolist.dto.TaskFilter;
+import com.softserve.itacademy.todolist.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Criteria for task listings. Each condition maps onto a column of an index in
+ * V5__index_task_filters, so a combination of them is answered from an index range.
+ */
+public final class TaskSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        Specification<Task> specification = Specification.where(null);
+        if (filter.getPriority() != null) {
+            specification = specification.and((task, query, cb) -> cb.equal(task.get("priority"), filter.getPriority()));
+        }
+        if (filter.getStateId() != null) {
+            specification = specification.and((task, query, cb) ->
+                    cb.equal(task.get("state").get("id"), filter.getStateId()));
+        }
+        if (filter.getTodoId() != null) {
+            specification = specification.and((task, query, cb) ->
+                    cb.equal(task.get("todo").get("id"), filter.getTodoId()));
+        }
+        if (filter.getOwnerId() != null) {
+            specification = specification.and((task, query, cb) ->
+                    cb.equal(task.get("todo").get("owner").get("id"), filter.getOwnerId()));
+        }
+        if (filter.getNamePrefix() != null && !filter.getNamePrefix().isEmpty()) {
+            // case-sensitive, a lower(name) comparison could not use the name index
+            specification = specification.and((task, query, cb) ->
+                    cb.like(task.get("name"), escapeLike(filter.getNamePrefix()) + "%", LIKE_ESCAPE));
+        }
+        return specification;
+    }
+
+    /** Keyset position: the tasks following {@code id} in id order, or preceding it newest first. */
+    public static Specification<Task> after(long id, boolean newestFirst) {
+        return newestFirst
+                ? (task, query, cb) -> cb.lessThan(task.get("id"), id)
+                : (task, query, cb) -> cb.greaterThan(task.get("id"), id);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,19 +1,109 @@
 package com.softserve.itacademy.todolist.repository;
 
+import com.softserve.itacademy.todolist.dto.ResourceVersion;
+import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
 import com.softserve.itacademy.todolist.model.ToDo;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ToDoRepository extends JpaRepository<ToDo, Long> {
-    @Query(value = "select * " +
-                   "from todos\n" +
-                   "    where owner_id = :userId\n" +
-                   "union\n" +
-                   "select * " +
-                   "from todos t inner join todo_collaborator tc\n" +
-                   "    on t.id = tc.todo_id and tc." +
-                   "collaborator_id = :userId;", nativeQuery = true)
-    List<ToDo> getByUserId(long userId);
+public interface ToDoRepository extends JpaRepository<ToDo, Long>, ToDoRepositoryCustom {
+    // a query rather than find(), which would take the todo from the second-level cache without its collaborators
+    @EntityGraph(ToDo.WITH_COLLABORATORS)
+    @Query("from ToDo t where t.id = :id")
+    Optional<ToDo> findWithCollaboratorsById(long id);
+
+    /*
+     * Todos a user owns or collaborates on, keyset-paged on (created_at, id). Each UNION ALL branch
+     * walks its own index (todos by owner, todo_collaborator by collaborator) and stops at the page
+     * size; owned todos are excluded from the shared branch, so no dedup pass is needed.
+     * Rows are (id, title, created_at, owner_id).
+     */
+    @Query(value = "select v.id, v.title, v.created_at, v.owner_id from (" +
+                   "(select t.id, t.title, t.created_at, t.owner_id from todos t " +
+                   "  where t.owner_id = :userId and (t.created_at, t.id) < (:createdAt, :id) " +
+                   "  order by t.created_at desc, t.id desc limit :limit) " +
+                   "union all " +
+                   "(select t.id, t.title, t.created_at, t.owner_id " +
+                   "  from todo_collaborator tc inner join todos t on t.id = tc.todo_id " +
+                   "  where tc.collaborator_id = :userId and t.owner_id <> :userId " +
+                   "    and (t.created_at, t.id) < (:createdAt, :id) " +
+                   "  order by t.created_at desc, t.id desc limit :limit)" +
+                   ") v order by v.created_at desc, v.id desc limit :limit", nativeQuery = true)
+    List<Object[]> findVisibleBefore(long userId, LocalDateTime createdAt, long id, int limit);
+
+    @Query(value = "select v.id, v.title, v.created_at, v.owner_id from (" +
+                   "(select t.id, t.title, t.created_at, t.owner_id from todos t " +
+                   "  where t.owner_id = :userId and (t.created_at, t.id) > (:createdAt, :id) " +
+                   "  order by t.created_at, t.id limit :limit) " +
+                   "union all " +
+                   "(select t.id, t.title, t.created_at, t.owner_id " +
+                   "  from todo_collaborator tc inner join todos t on t.id = tc.todo_id " +
+                   "  where tc.collaborator_id = :userId and t.owner_id <> :userId " +
+                   "    and (t.created_at, t.id) > (:createdAt, :id) " +
+                   "  order by t.created_at, t.id limit :limit)" +
+                   ") v order by v.created_at, v.id limit :limit", nativeQuery = true)
+    List<Object[]> findVisibleAfter(long userId, LocalDateTime createdAt, long id, int limit);
+
+    /*
+     * Same rows as findVisibleBefore, found by walking all todos newest first and probing the
+     * collaborator key: cheaper once the user shares a large part of the table, because the walk
+     * stops after a page instead of joining and sorting every shared todo.
+     */
+    @Query(value = "select t.id, t.title, t.created_at, t.owner_id from todos t " +
+                   "where t.created_at <= :createdAt and (t.created_at, t.id) < (:createdAt, :id) " +
+                   "  and (t.owner_id = :userId or exists (select 1 from todo_collaborator tc " +
+                   "    where tc.todo_id = t.id and tc.collaborator_id = :userId)) " +
+                   "order by t.created_at desc, t.id desc limit :limit", nativeQuery = true)
+    List<Object[]> scanVisibleBefore(long userId, LocalDateTime createdAt, long id, int limit);
+
+    // todos shared with the user, and all todos
+    @Query(value = "select (select count(*) from todo_collaborator where collaborator_id = :userId), " +
+                   "(select count(*) from todos)", nativeQuery = true)
+    List<Object[]> countSharedWithAndAll(long userId);
+
+    @Query("select new com.softserve.itacademy.todolist.dto.ToDoResponseDto(t.id, t.title, t.createdAt, t.owner.id) " +
+           "from ToDo t order by t.id")
+    List<ToDoResponseDto> findAllDto();
+
+    @Query("select new com.softserve.itacademy.todolist.dto.ToDoResponseDto(t.id, t.title, t.createdAt, t.owner.id) " +
+           "from ToDo t where t.owner.id = :ownerId order by t.id")
+    List<ToDoResponseDto> findDtoByOwnerId(long ownerId);
+
+    @Query("select t.owner.id from ToDo t where t.id = :todoId")
+    Optional<Long> findOwnerId(long todoId);
+
+    @Query("select c.id from ToDo t join t.collaborators c where t.id = :todoId")
+    List<Long> findCollaboratorIds(long todoId);
+
+    @Query("select t.id from ToDo t join t.collaborators c where c.id = :collaboratorId order by t.id")
+    List<Long> findIdsByCollaboratorId(long collaboratorId);
+
+    @Query(value = "select todo_id, collaborator_id from todo_collaborator", nativeQuery = true)
+    List<Object[]> findAllCollaboratorIds();
+
+    @Query(value = "select tc.todo_id, tc.collaborator_id " +
+                   "from todo_collaborator tc inner join todos t on t.id = tc.todo_id " +
+                   "where t.owner_id = :ownerId", nativeQuery = true)
+    List<Object[]> findCollaboratorIdsByOwnerId(long ownerId);
+
+    @Query(value = "select todo_id, collaborator_id from todo_collaborator where todo_id in (:todoIds)",
+           nativeQuery = true)
+    List<Object[]> findCollaboratorIdsByTodoIds(Collection<Long> todoIds);
+
+    @Query("select new com.softserve.itacademy.todolist.dto.ResourceVersion(t.version, t.updatedAt) " +
+           "from ToDo t where t.id = :id")
+    Optional<ResourceVersion> findVersion(long id);
+
+    // rows are (version, updated_at), at most one
+    @Query(value = "select tasks_version, tasks_updated_at from todos where id = :todoId", nativeQuery = true)
+    List<Object[]> findTasksVersion(long todoId);
+
+    @Query(value = "select todos_version, todos_updated_at from users where id = :ownerId", nativeQuery = true)
+    List<Object[]> findOwnedTodosVersion(long ownerId);
 }
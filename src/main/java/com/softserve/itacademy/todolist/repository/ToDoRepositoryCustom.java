@@ -0,0 +1,35 @@
+package com.softserve.itacademy.todolist.repository;
+
+import com.softserve.itacademy.todolist.dto.ToDoListDto;
+import com.softserve.itacademy.todolist.model.ToDo;
+
+import java.util.Collection;
+
+/**
+ * Single-row writes that bypass loading an entity or collection, and list reads that bypass building
+ * one. All of them run in the caller's transaction, so a raised version becomes visible together
+ * with the change it stands for.
+ */
+public interface ToDoRepositoryCustom {
+
+    /** Reloads the todo and locks its row until the transaction ends. */
+    void refreshForUpdate(ToDo todo);
+
+    /** @return {@code false} if the user already is a collaborator */
+    boolean addCollaborator(long todoId, long collaboratorId);
+
+    /** @return {@code false} if the user is not a collaborator */
+    boolean removeCollaborator(long todoId, long collaboratorId);
+
+    /** After tasks of these todos were created, changed or deleted. */
+    void raiseTasksVersion(Collection<Long> todoIds);
+
+    /** After a todo of this owner was created, changed or deleted, or its collaborators changed. */
+    void raiseOwnedTodosVersion(long ownerId);
+
+    /** All todos in id order, with their collaborators, read from JDBC columns. */
+    ToDoListDto findAllListDto();
+
+    /** The owner's todos in id order, with their collaborators, read from JDBC columns. */
+    ToDoListDto findListDtoByOwnerId(long ownerId);
+}
@@ -0,0 +1,141 @@
+package com.softserve.itacademy.todolist.repository;
+
+import com.softserve.itacademy.todolist.dto.ToDoListDto;
+import com.softserve.itacademy.todolist.model.ToDo;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/*
+ * A native update tells Hibernate which tables it touches, or it evicts every second-level cache
+ * region. Collaborator rows name todo_collaborator, which drops the cached collaborator lists; the
+ * version columns are not mapped at all, so those updates go straight to the session's connection.
+ * Their timestamps come from the JVM clock, like the updated_at the entities set themselves.
+ */
+@Transactional(propagation = Propagation.MANDATORY)
+public class ToDoRepositoryImpl implements ToDoRepositoryCustom {
+
+    private static final String COLLABORATORS = "todo_collaborator";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void refreshForUpdate(ToDo todo) {
+        entityManager.refresh(todo, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    @Override
+    public boolean addCollaborator(long todoId, long collaboratorId) {
+        return updateCollaborators("insert into todo_collaborator (todo_id, collaborator_id) " +
+                                   "select :todoId, :collaboratorId where not exists (select 1 from todo_collaborator " +
+                                   "  where todo_id = :todoId and collaborator_id = :collaboratorId)",
+                todoId, collaboratorId) == 1;
+    }
+
+    @Override
+    public boolean removeCollaborator(long todoId, long collaboratorId) {
+        return updateCollaborators("delete from todo_collaborator where todo_id = :todoId and collaborator_id = :collaboratorId",
+                todoId, collaboratorId) == 1;
+    }
+
+    private int updateCollaborators(String sql, long todoId, long collaboratorId) {
+        return entityManager.createNativeQuery(sql)
+                .setParameter("todoId", todoId)
+                .setParameter("collaboratorId", collaboratorId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(COLLABORATORS)
+                .executeUpdate();
+    }
+
+    @Override
+    public void raiseTasksVersion(Collection<Long> todoIds) {
+        // in id order, so two writers touching the same todos lock their rows in the same order
+        Collection<Long> ids = new TreeSet<>(todoIds);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "update todos set tasks_version = tasks_version + 1, tasks_updated_at = ? where id = ?")) {
+                LocalDateTime now = LocalDateTime.now();
+                for (long id : ids) {
+                    statement.setObject(1, now);
+                    statement.setLong(2, id);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public void raiseOwnedTodosVersion(long ownerId) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "update users set todos_version = todos_version + 1, todos_updated_at = ? where id = ?")) {
+                statement.setObject(1, LocalDateTime.now());
+                statement.setLong(2, ownerId);
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public ToDoListDto findAllListDto() {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> readList(connection,
+                "select id, title, created_at, owner_id from todos order by id",
+                "select todo_id, collaborator_id from todo_collaborator order by todo_id, collaborator_id",
+                null));
+    }
+
+    @Override
+    public ToDoListDto findListDtoByOwnerId(long ownerId) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> readList(connection,
+                "select id, title, created_at, owner_id from todos where owner_id = ? order by id",
+                "select tc.todo_id, tc.collaborator_id " +
+                "from todo_collaborator tc inner join todos t on t.id = tc.todo_id " +
+                "where t.owner_id = ? order by tc.todo_id, tc.collaborator_id",
+                ownerId));
+    }
+
+    // both queries in todo id order, the order ToDoListDto takes collaborators in
+    private static ToDoListDto readList(Connection connection, String todosSql, String collaboratorsSql, Long ownerId)
+            throws SQLException {
+        ToDoListDto todos = new ToDoListDto(16);
+        try (PreparedStatement statement = connection.prepareStatement(todosSql)) {
+            if (ownerId != null) {
+                statement.setLong(1, ownerId);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    todos.add(rows.getLong(1), rows.getString(2), rows.getObject(3, LocalDateTime.class),
+                            rows.getLong(4));
+                }
+            }
+        }
+        if (todos.size() == 0) {
+            return todos;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(collaboratorsSql)) {
+            if (ownerId != null) {
+                statement.setLong(1, ownerId);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    todos.addCollaborator(rows.getLong(1), rows.getLong(2));
+                }
+            }
+        }
+        return todos;
+    }
+}
@@ -3,6 +3,6 @@ package com.softserve.itacademy.todolist.repository;
 import com.softserve.itacademy.todolist.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     User findByEmail(String email);
 }
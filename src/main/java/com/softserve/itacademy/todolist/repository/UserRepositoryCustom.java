@@ -0,0 +1,9 @@
+package com.softserve.itacademy.todolist.repository;
+
+import com.softserve.itacademy.todolist.dto.UserListDto;
+
+public interface UserRepositoryCustom {
+
+    /** All users in id order with their role names, read from JDBC columns. */
+    UserListDto findAllListDto();
+}
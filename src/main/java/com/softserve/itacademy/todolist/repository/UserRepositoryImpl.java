@@ -0,0 +1,32 @@
+package com.softserve.itacademy.todolist.repository;
+
+import com.softserve.itacademy.todolist.dto.UserListDto;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public UserListDto findAllListDto() {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            UserListDto users = new UserListDto(64);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select u.id, u.first_name, u.last_name, u.email, r.name " +
+                    "from users u left join roles r on r.id = u.role_id order by u.id");
+                 ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    users.add(rows.getLong(1), rows.getString(2), rows.getString(3), rows.getString(4),
+                            rows.getString(5));
+                }
+            }
+            return users;
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.softserve.itacademy.todolist.security;
+
+import com.softserve.itacademy.todolist.model.Role;
+import com.softserve.itacademy.todolist.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Issues and verifies HMAC-signed access and refresh tokens. Everything needed to rebuild the
+ * principal travels in the access token, so verifying a request costs one HMAC and no database access.
+ * <p>
+ * The key comes from {@code todolist.jwt.secret} ({@code TODOLIST_JWT_SECRET}) and startup fails
+ * without one. Only with {@code todolist.jwt.generate-secret=true} is a random key made up instead,
+ * which no other instance shares and a restart discards, so it is for development and tests only.
+ */
+@Slf4j
+@Component
+public class JwtTokenProvider {
+
+    private static final String USER_ID = "uid";
+    private static final String ROLE = "role";
+    private static final String TYPE = "typ";
+    private static final String ACCESS = "access";
+    private static final String REFRESH = "refresh";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+
+    public JwtTokenProvider(@Value("${todolist.jwt.secret:}") String secret,
+                            @Value("${todolist.jwt.generate-secret:false}") boolean generateSecret,
+                            @Value("${todolist.jwt.access-token-ttl:15m}") Duration accessTokenTtl,
+                            @Value("${todolist.jwt.refresh-token-ttl:7d}") Duration refreshTokenTtl) {
+        this.key = signingKey(secret, generateSecret);
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    private static SecretKey signingKey(String secret, boolean generateSecret) {
+        if (!secret.isBlank()) {
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        }
+        if (!generateSecret) {
+            throw new IllegalStateException("No token signing key: set TODOLIST_JWT_SECRET to a base64-encoded "
+                    + "key of at least 256 bits, e.g. the output of 'openssl rand -base64 48'");
+        }
+        log.warn("Signing tokens with a random key, they stop working when this instance restarts");
+        return Keys.secretKeyFor(SignatureAlgorithm.HS384);
+    }
+
+    public String createAccessToken(User user) {
+        return Jwts.builder()
+                .setSubject(user.getEmail())
+                .claim(USER_ID, user.getId())
+                .claim(ROLE, user.getRole().getName())
+                .claim(TYPE, ACCESS)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenTtl.toMillis()))
+                .signWith(key)
+                .compact();
+    }
+
+    public String createRefreshToken(User user) {
+        return Jwts.builder()
+                .setSubject(user.getEmail())
+                .claim(TYPE, REFRESH)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + refreshTokenTtl.toMillis()))
+                .signWith(key)
+                .compact();
+    }
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    /**
+     * @throws JwtException if the token is malformed, expired, badly signed or not an access token
+     */
+    public Authentication authenticate(String accessToken) {
+        Claims claims = parse(accessToken, ACCESS);
+        Role role = new Role();
+        role.setName(claims.get(ROLE, String.class));
+        User user = new User();
+        user.setId(claims.get(USER_ID, Long.class));
+        user.setEmail(claims.getSubject());
+        user.setRole(role);
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    /**
+     * @return the e-mail of the user the refresh token was issued to
+     * @throws JwtException if the token is malformed, expired, badly signed or not a refresh token
+     */
+    public String getRefreshTokenSubject(String refreshToken) {
+        return parse(refreshToken, REFRESH).getSubject();
+    }
+
+    private Claims parse(String token, String expectedType) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (!expectedType.equals(claims.get(TYPE, String.class))) {
+            throw new JwtException("Expected " + expectedType + " token");
+        }
+        return claims;
+    }
+}
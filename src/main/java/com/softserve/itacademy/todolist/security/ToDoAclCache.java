@@ -0,0 +1,127 @@
+package com.softserve.itacademy.todolist.security;
+
+import com.softserve.itacademy.todolist.repository.ToDoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Owner and collaborator ids per ToDo, for the access checks on a todo's data.
+ * <p>
+ * The cache is a fixed-size, direct-mapped table keyed by the primitive todo id: a lookup is one
+ * array read plus a binary search over a sorted {@code long[]}, and a colliding entry simply replaces
+ * the previous one, which bounds the size. Writers must call {@link #evict(long)} after every change
+ * to a ToDo's owner or collaborators; inside a transaction the entry is dropped once it commits.
+ */
+@Component
+public class ToDoAclCache {
+
+    private final ToDoRepository todoRepository;
+    private final AtomicReferenceArray<Acl> slots;
+    private final int mask;
+    private final AtomicLong modifications = new AtomicLong();
+
+    public ToDoAclCache(ToDoRepository todoRepository,
+                        @Value("${todolist.acl-cache.max-size:8192}") int maxSize) {
+        this.todoRepository = todoRepository;
+        int capacity = Integer.highestOneBit(Math.max(maxSize, 2) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public boolean isOwner(long todoId, long userId) {
+        return get(todoId).ownerId == userId;
+    }
+
+    public boolean isCollaborator(long todoId, long userId) {
+        return Arrays.binarySearch(get(todoId).collaboratorIds, userId) >= 0;
+    }
+
+    public void evict(long todoId) {
+        afterCommit(() -> {
+            modifications.incrementAndGet();
+            int index = indexOf(todoId);
+            Acl acl = slots.get(index);
+            if (acl != null && acl.todoId == todoId) {
+                slots.compareAndSet(index, acl, null);
+            }
+        });
+    }
+
+    public void clear() {
+        afterCommit(() -> {
+            modifications.incrementAndGet();
+            for (int i = 0; i < slots.length(); i++) {
+                slots.set(i, null);
+            }
+        });
+    }
+
+    // Evicting before the commit would let a check in between cache the rows still committed.
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private Acl get(long todoId) {
+        int index = indexOf(todoId);
+        Acl acl = slots.get(index);
+        if (acl != null && acl.todoId == todoId) {
+            return acl;
+        }
+        // An eviction racing with this load means the rows read may already be stale. The entry is
+        // published before the stamp is compared: an eviction that finished first is seen in the
+        // stamp, one that comes later finds the entry, so neither can leave it in place.
+        long stamp = modifications.get();
+        acl = load(todoId);
+        slots.set(index, acl);
+        if (modifications.get() != stamp) {
+            slots.compareAndSet(index, acl, null);
+        }
+        return acl;
+    }
+
+    private Acl load(long todoId) {
+        long ownerId = todoRepository.findOwnerId(todoId).orElseThrow(
+                () -> new EntityNotFoundException("ToDo with id " + todoId + " not found"));
+        List<Long> collaborators = todoRepository.findCollaboratorIds(todoId);
+        long[] collaboratorIds = new long[collaborators.size()];
+        for (int i = 0; i < collaboratorIds.length; i++) {
+            collaboratorIds[i] = collaborators.get(i);
+        }
+        Arrays.sort(collaboratorIds);
+        return new Acl(todoId, ownerId, collaboratorIds);
+    }
+
+    private int indexOf(long todoId) {
+        long h = todoId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static final class Acl {
+        final long todoId;
+        final long ownerId;
+        final long[] collaboratorIds;
+
+        Acl(long todoId, long ownerId, long[] collaboratorIds) {
+            this.todoId = todoId;
+            this.ownerId = ownerId;
+            this.collaboratorIds = collaboratorIds;
+        }
+    }
+}
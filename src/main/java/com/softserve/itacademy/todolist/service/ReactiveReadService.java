@@ -0,0 +1,19 @@
+package com.softserve.itacademy.todolist.service;
+
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
+import reactor.core.publisher.Flux;
+
+/**
+ * Read-only queries over R2DBC. Results are produced as the subscriber requests them, so a slow
+ * client holds back the database instead of buffering the whole list in memory.
+ */
+public interface ReactiveReadService {
+
+    Flux<TaskResponseDto> getTasksByTodoId(long todoId);
+
+    /** Every task in id order, read in keyset pages as demand arrives. */
+    Flux<TaskResponseDto> getAllTasks();
+
+    Flux<ToDoResponseDto> getTodosByOwnerId(long ownerId);
+}
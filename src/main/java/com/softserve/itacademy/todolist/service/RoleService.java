@@ -11,4 +11,6 @@ public interface RoleService {
     Role update(Role role);
     void delete(long id);
     List<Role> getAll();
+
+    Role getByName(String name);
 }
@@ -0,0 +1,35 @@
+package com.softserve.itacademy.todolist.service;
+
+import com.softserve.itacademy.todolist.dto.SearchResultDto;
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.ToDo;
+
+public interface SearchService {
+
+    /**
+     * Tasks whose name, todo title or todo owner match the query, best match first; a blank query
+     * matches every task and leaves the filters to narrow it down.
+     *
+     * @param priority  {@code null} for any priority
+     * @param stateId   {@code null} for any state
+     * @param visibleTo only tasks of todos this user owns or collaborates on, {@code null} for all
+     */
+    SearchResultDto<TaskResponseDto> searchTasks(String query, Priority priority, Long stateId, Long visibleTo,
+                                                 int page, int size);
+
+    /** Todos whose title or owner match the query, scoped and paged like {@link #searchTasks}. */
+    SearchResultDto<ToDoResponseDto> searchTodos(String query, Long visibleTo, int page, int size);
+
+    /**
+     * Reindexes the todo and its tasks, for changes written around Hibernate, which the automatic
+     * indexing does not see. The work is done on a background thread once the current transaction
+     * commits, as a todo with many tasks would otherwise hold up the writer; until then searches
+     * still see the previous state.
+     */
+    void reindex(ToDo todo);
+
+    /** Rebuilds the whole index from the database, blocking until it is done. */
+    void reindexAll() throws InterruptedException;
+}
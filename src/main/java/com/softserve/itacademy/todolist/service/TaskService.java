@@ -1,8 +1,14 @@
 package com.softserve.itacademy.todolist.service;
 
+import com.softserve.itacademy.todolist.dto.TaskFilter;
+import com.softserve.itacademy.todolist.dto.TaskListDto;
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.model.State;
 import com.softserve.itacademy.todolist.model.Task;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface TaskService {
     Task create(Task task);
@@ -11,5 +17,13 @@ public interface TaskService {
     void delete(long id);
     List<Task> getAll();
 
+    List<Task> createAll(List<Task> tasks);
+    List<Task> changeStates(Map<Long, State> statesByTaskId);
+
     List<Task> getByTodoId(long todoId);
+    List<TaskResponseDto> getDtoByTodoId(long todoId);
+    TaskListDto getListDtoByTodoId(long todoId);
+
+    List<TaskResponseDto> getPage(TaskFilter filter, Long afterId, boolean newestFirst, int limit);
+    void streamAll(Consumer<TaskResponseDto> consumer);
 }
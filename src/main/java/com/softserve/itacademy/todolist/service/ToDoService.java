@@ -1,15 +1,60 @@
 package com.softserve.itacademy.todolist.service;
 
+import com.softserve.itacademy.todolist.dto.CursorCodec;
+import com.softserve.itacademy.todolist.dto.ResourceVersion;
+import com.softserve.itacademy.todolist.dto.ToDoListDto;
+import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
 import com.softserve.itacademy.todolist.model.ToDo;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ToDoService {
     ToDo create(ToDo todo);
     ToDo readById(long id);
+
+    /** The todo with its owner and collaborators loaded, for use after the transaction has ended. */
+    ToDo readWithCollaborators(long id);
+
+
+    /** @return the updated todo, with its owner and collaborators loaded */
     ToDo update(ToDo todo);
     void delete(long id);
     List<ToDo> getAll();
 
-    List<ToDo> getByUserId(long userId);
+    /**
+     * Adds one collaborator row, leaving the others alone. Collaborator changes of the same todo
+     * wait for each other instead of failing on its version.
+     *
+     * @return {@code false} if the user already collaborates on the todo
+     */
+    boolean addCollaborator(long todoId, long collaboratorId);
+
+    /** @return {@code false} if the user does not collaborate on the todo */
+    boolean removeCollaborator(long todoId, long collaboratorId);
+
+    /** Removes the user from every todo they collaborate on, as one collaborator change per todo. */
+    void removeCollaboratorFromAll(long collaboratorId);
+
+    /**
+     * Todos the user owns or collaborates on, {@code limit} rows after the given position
+     * ({@code null} for the first page) in creation order.
+     */
+    List<ToDoResponseDto> getVisibleDto(long userId, CursorCodec.CreatedAtKey after, boolean newestFirst, int limit);
+
+    List<ToDoResponseDto> getAllDto();
+    List<ToDoResponseDto> getDtoByOwnerId(long ownerId);
+
+    /** Same rows as {@link #getAllDto()} and {@link #getDtoByOwnerId(long)}, without an object per todo. */
+    ToDoListDto getAllListDto();
+    ToDoListDto getListDtoByOwnerId(long ownerId);
+
+    /** Version of the todo, its collaborators included; empty if there is no such todo. */
+    Optional<ResourceVersion> getVersion(long id);
+
+    /** Version of the todo's task list; empty if there is no such todo. */
+    Optional<ResourceVersion> getTasksVersion(long todoId);
+
+    /** Version of the list of todos the user owns; empty if there is no such user. */
+    Optional<ResourceVersion> getOwnedTodosVersion(long ownerId);
 }
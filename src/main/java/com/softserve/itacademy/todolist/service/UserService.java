@@ -1,5 +1,6 @@
 package com.softserve.itacademy.todolist.service;
 
+import com.softserve.itacademy.todolist.dto.UserListDto;
 import com.softserve.itacademy.todolist.model.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
@@ -9,7 +10,9 @@ public interface UserService extends UserDetailsService {
     User create(User user);
     User readById(long id);
     User readByEmail(String email);
+    boolean exists(long id);
     User update(User user);
     void delete(long id);
     List<User> getAll();
+    UserListDto getAllListDto();
 }
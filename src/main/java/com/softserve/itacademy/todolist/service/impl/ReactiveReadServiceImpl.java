@@ -0,0 +1,86 @@
+package com.softserve.itacademy.todolist.service.impl;
+
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.service.ReactiveReadService;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveReadServiceImpl implements ReactiveReadService {
+
+    private static final int TASK_PAGE_SIZE = 1000;
+    private static final String TASK_COLUMNS = "select id, name, priority, todo_id, state_id from tasks ";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<TaskResponseDto> getTasksByTodoId(long todoId) {
+        return databaseClient.sql(TASK_COLUMNS + "where todo_id = :todoId order by id")
+                .bind("todoId", todoId)
+                .map((row, metadata) -> task(row))
+                .all();
+    }
+
+    @Override
+    public Flux<TaskResponseDto> getAllTasks() {
+        // a prefetch of one page keeps at most two pages in memory
+        return taskPageAfter(0)
+                .expand(page -> page.size() < TASK_PAGE_SIZE
+                        ? Mono.empty()
+                        : taskPageAfter(page.get(page.size() - 1).getId()))
+                .flatMapIterable(page -> page, 1);
+    }
+
+    @Override
+    public Flux<ToDoResponseDto> getTodosByOwnerId(long ownerId) {
+        // one row per collaborator, merged back into one todo per run of equal ids
+        return databaseClient.sql("select t.id, t.title, t.created_at, t.owner_id, tc.collaborator_id " +
+                                  "from todos t left join todo_collaborator tc on tc.todo_id = t.id " +
+                                  "where t.owner_id = :ownerId order by t.id, tc.collaborator_id")
+                .bind("ownerId", ownerId)
+                .map((row, metadata) -> {
+                    ToDoResponseDto todo = new ToDoResponseDto(row.get("id", Long.class), row.get("title", String.class),
+                            row.get("created_at", LocalDateTime.class), row.get("owner_id", Long.class));
+                    Long collaboratorId = row.get("collaborator_id", Long.class);
+                    if (collaboratorId != null) {
+                        todo.getCollaborators().add(collaboratorId);
+                    }
+                    return todo;
+                })
+                .all()
+                .bufferUntilChanged(ToDoResponseDto::getId)
+                .map(rows -> {
+                    ToDoResponseDto todo = rows.get(0);
+                    for (int i = 1; i < rows.size(); i++) {
+                        todo.getCollaborators().addAll(rows.get(i).getCollaborators());
+                    }
+                    return todo;
+                });
+    }
+
+    private Mono<List<TaskResponseDto>> taskPageAfter(long afterId) {
+        return databaseClient.sql(TASK_COLUMNS + "where id > :afterId order by id limit :limit")
+                .bind("afterId", afterId)
+                .bind("limit", TASK_PAGE_SIZE)
+                .map((row, metadata) -> task(row))
+                .all()
+                .collectList();
+    }
+
+    private static TaskResponseDto task(Row row) {
+        String priority = row.get("priority", String.class);
+        return new TaskResponseDto(row.get("id", Long.class), row.get("name", String.class),
+                priority == null ? null : Priority.valueOf(priority), row.get("todo_id", Long.class),
+                row.get("state_id", Long.class));
+    }
+}
@@ -0,0 +1,115 @@
+package com.softserve.itacademy.todolist.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copy of a small reference table (states, roles), read without a query or a transaction.
+ * Its indexes never change: a write drops the whole copy once it has committed and the next read
+ * loads a new one, so readers never lock. The rows are the loaded entities, not copies, and callers
+ * share them read-only.
+ */
+final class ReferenceDataSnapshot<T> {
+
+    private final String entityName;
+    private final Supplier<List<T>> loader;
+    private final Function<T, Long> id;
+    private final Function<T, String> name;
+    private volatile Indexes<T> indexes;
+    // not synchronized: a virtual thread blocked on the query inside a monitor would pin its carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    /**
+     * @param entityName the entity as named in not-found messages
+     * @param loader     all rows, in id order
+     */
+    ReferenceDataSnapshot(String entityName, Supplier<List<T>> loader, Function<T, Long> id, Function<T, String> name) {
+        this.entityName = entityName;
+        this.loader = loader;
+        this.id = id;
+        this.name = name;
+    }
+
+    List<T> all() {
+        return indexes().all;
+    }
+
+    T byId(long id) {
+        T row = indexes().byId.get(id);
+        if (row == null) {
+            throw new EntityNotFoundException(entityName + " with id " + id + " not found");
+        }
+        return row;
+    }
+
+    T byName(String name) {
+        T row = indexes().byName.get(name);
+        if (row == null) {
+            throw new EntityNotFoundException(entityName + " with name '" + name + "' not found");
+        }
+        return row;
+    }
+
+    // Dropping the indexes under the lock makes the next read load the committed rows, also when
+    // a reload that started before the commit is still running.
+    void reloadAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reloadLock.lock();
+                try {
+                    indexes = null;
+                } finally {
+                    reloadLock.unlock();
+                }
+            }
+        });
+    }
+
+    private Indexes<T> indexes() {
+        Indexes<T> current = indexes;
+        return current != null ? current : reload();
+    }
+
+    // Readers that found no indexes queue up here; only the first one queries, the others take
+    // what it loaded unless a commit has dropped it again in between.
+    private Indexes<T> reload() {
+        reloadLock.lock();
+        try {
+            Indexes<T> current = indexes;
+            if (current == null) {
+                current = new Indexes<>(loader.get(), id, name);
+                indexes = current;
+            }
+            return current;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static final class Indexes<T> {
+        final List<T> all;
+        final Map<Long, T> byId;
+        final Map<String, T> byName;
+
+        Indexes(List<T> rows, Function<T, Long> id, Function<T, String> name) {
+            Map<Long, T> byId = new HashMap<>();
+            Map<String, T> byName = new HashMap<>();
+            for (T row : rows) {
+                byId.put(id.apply(row), row);
+                byName.put(name.apply(row), row);
+            }
+            this.all = List.copyOf(rows);
+            this.byId = Map.copyOf(byId);
+            this.byName = Map.copyOf(byName);
+        }
+    }
+}
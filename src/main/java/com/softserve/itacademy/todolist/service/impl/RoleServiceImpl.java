@@ -4,51 +4,72 @@ import com.softserve.itacademy.todolist.exception.NullEntityReferenceException;
 import com.softserve.itacademy.todolist.model.Role;
 import com.softserve.itacademy.todolist.repository.RoleRepository;
 import com.softserve.itacademy.todolist.service.RoleService;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.persistence.EntityNotFoundException;
 import java.util.List;
 
+/**
+ * Roles are reference data: reads are served from a {@link ReferenceDataSnapshot}, reloaded once a
+ * create, update or delete has committed. The Role entities it returns are detached and shared by
+ * every caller, so they must not be modified; changes go through update().
+ */
 @Service
 public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
+    private final ReferenceDataSnapshot<Role> snapshot;
 
     public RoleServiceImpl(RoleRepository roleRepository) {
         this.roleRepository = roleRepository;
+        this.snapshot = new ReferenceDataSnapshot<>("Role", () -> roleRepository.findAll(Sort.by("id")),
+                Role::getId, Role::getName);
     }
 
     @Override
+    @Transactional
     public Role create(Role role) {
         if (role != null) {
-            return roleRepository.save(role);
+            Role created = roleRepository.save(role);
+            snapshot.reloadAfterCommit();
+            return created;
         }
         throw new NullEntityReferenceException("Role cannot be 'null'");
     }
 
     @Override
     public Role readById(long id) {
-        return roleRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("Role with id " + id + " not found"));
+        return snapshot.byId(id);
     }
 
     @Override
+    @Transactional
     public Role update(Role role) {
         if (role != null) {
             readById(role.getId());
-            return roleRepository.save(role);
+            Role updated = roleRepository.save(role);
+            snapshot.reloadAfterCommit();
+            return updated;
         }
         throw new NullEntityReferenceException("Role cannot be 'null'");
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         Role role = readById(id);
         roleRepository.delete(role);
+        snapshot.reloadAfterCommit();
     }
 
     @Override
     public List<Role> getAll() {
-        return roleRepository.findAll();
+        return snapshot.all();
+    }
+
+    @Override
+    public Role getByName(String name) {
+        return snapshot.byName(name);
     }
 }
@@ -0,0 +1,214 @@
+package com.softserve.itacademy.todolist.service.impl;
+
+import com.softserve.itacademy.todolist.dto.SearchResultDto;
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
+import com.softserve.itacademy.todolist.exception.BadRequestException;
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.Task;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.repository.ToDoRepository;
+import com.softserve.itacademy.todolist.service.SearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.search.engine.search.common.BooleanOperator;
+import org.hibernate.search.engine.search.predicate.dsl.BooleanPredicateClausesStep;
+import org.hibernate.search.engine.search.predicate.dsl.PredicateFinalStep;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    // Lucene collects offset + size hits per query, so deep pages get expensive
+    private static final int MAX_WINDOW = 10_000;
+
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ToDoRepository todoRepository;
+    private final boolean indexIfEmpty;
+    // one reindex at a time, in commit order, so an older state never overwrites a newer one
+    private final ExecutorService reindexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-reindex");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Long> pendingReindex = ConcurrentHashMap.newKeySet();
+
+    public SearchServiceImpl(EntityManager entityManager, EntityManagerFactory entityManagerFactory,
+                             ToDoRepository todoRepository,
+                             @Value("${todolist.search.index-if-empty:true}") boolean indexIfEmpty) {
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.todoRepository = todoRepository;
+        this.indexIfEmpty = indexIfEmpty;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchResultDto<TaskResponseDto> searchTasks(String query, Priority priority, Long stateId, Long visibleTo,
+                                                        int page, int size) {
+        checkWindow(page, size);
+        SearchResult<Task> result = Search.session(entityManager).search(Task.class)
+                .where(f -> f.bool(b -> {
+                    b.must(matching(f, query, "name", "todo.title",
+                            "todo.owner.firstName", "todo.owner.lastName", "todo.owner.email"));
+                    if (priority != null) {
+                        b.filter(f.match().field("priority").matching(priority));
+                    }
+                    if (stateId != null) {
+                        b.filter(f.match().field("state.id").matching(stateId));
+                    }
+                    if (visibleTo != null) {
+                        visibleTo(f, b, "todo.", visibleTo);
+                    }
+                }))
+                .fetch(page * size, size);
+        return toResult(result, TaskResponseDto::new, page, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchResultDto<ToDoResponseDto> searchTodos(String query, Long visibleTo, int page, int size) {
+        checkWindow(page, size);
+        SearchResult<ToDo> result = Search.session(entityManager).search(ToDo.class)
+                .where(f -> f.bool(b -> {
+                    b.must(matching(f, query, "title", "owner.firstName", "owner.lastName", "owner.email"));
+                    if (visibleTo != null) {
+                        visibleTo(f, b, "", visibleTo);
+                    }
+                }))
+                // the hits come with their collaborators instead of loading them one todo at a time
+                .loading(o -> o.graph(ToDo.WITH_COLLABORATORS, GraphSemantic.FETCH))
+                .fetch(page * size, size);
+        return toResult(result, ToDoResponseDto::new, page, size);
+    }
+
+    @Override
+    public void reindex(ToDo todo) {
+        long todoId = todo.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            scheduleReindex(todoId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduleReindex(todoId);
+            }
+        });
+    }
+
+    @Override
+    public void reindexAll() throws InterruptedException {
+        Search.mapping(entityManagerFactory).scope(Object.class).massIndexer()
+                .startAndWait();
+    }
+
+    // A database that predates the index, or a deleted index directory, starts out unsearchable.
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexIfEmpty() throws InterruptedException {
+        if (!indexIfEmpty || todoRepository.count() == 0) {
+            return;
+        }
+        EntityManager session = entityManagerFactory.createEntityManager();
+        long documents;
+        try {
+            documents = Search.session(session).search(List.of(Task.class, ToDo.class))
+                    .where(f -> f.matchAll())
+                    .fetchTotalHitCount();
+        } finally {
+            session.close();
+        }
+        if (documents == 0) {
+            log.info("The search index is empty, indexing the database");
+            reindexAll();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reindexer.shutdownNow();
+    }
+
+    private void scheduleReindex(long todoId) {
+        // a reindex that has not started yet reads the todo when it runs, so it covers this change too
+        if (pendingReindex.add(todoId)) {
+            reindexer.execute(() -> {
+                pendingReindex.remove(todoId);
+                reindexNow(todoId);
+            });
+        }
+    }
+
+    private void reindexNow(long todoId) {
+        EntityManager session = entityManagerFactory.createEntityManager();
+        try {
+            session.getTransaction().begin();
+            ToDo todo = session.find(ToDo.class, todoId);
+            if (todo != null) {
+                // also reindexes the tasks, which embed the todo
+                Search.session(session).indexingPlan().addOrUpdate(todo);
+            }
+            session.getTransaction().commit();
+        } catch (RuntimeException e) {
+            log.error("Reindexing todo {} failed", todoId, e);
+            if (session.getTransaction().isActive()) {
+                session.getTransaction().rollback();
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    private static void checkWindow(int page, int size) {
+        if (page < 0 || (long) (page + 1) * size > MAX_WINDOW) {
+            throw new BadRequestException("Only the first " + MAX_WINDOW + " hits can be paged through");
+        }
+    }
+
+    private static PredicateFinalStep matching(SearchPredicateFactory f, String query, String mainField,
+                                               String... otherFields) {
+        if (query == null || query.isBlank()) {
+            return f.matchAll();
+        }
+        // matches in the main field rank above matches in the todo or owner fields
+        return f.simpleQueryString()
+                .field(mainField).boost(2.0f)
+                .fields(otherFields)
+                .matching(query)
+                .defaultOperator(BooleanOperator.AND);
+    }
+
+    private static void visibleTo(SearchPredicateFactory f, BooleanPredicateClausesStep<?> b, String todoPath,
+                                  long userId) {
+        b.filter(f.bool()
+                .should(f.match().field(todoPath + "owner.id").matching(userId))
+                .should(f.match().field(todoPath + "collaborators.id").matching(userId)));
+    }
+
+    private static <E, D> SearchResultDto<D> toResult(SearchResult<E> result, Function<E, D> toDto, int page, int size) {
+        List<D> items = result.hits().stream().map(toDto).collect(Collectors.toList());
+        return new SearchResultDto<>(items, result.total().hitCount(), page, size);
+    }
+}
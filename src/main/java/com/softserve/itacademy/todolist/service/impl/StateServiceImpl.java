@@ -5,60 +5,70 @@ import com.softserve.itacademy.todolist.model.State;
 import com.softserve.itacademy.todolist.repository.StateRepository;
 import com.softserve.itacademy.todolist.service.StateService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.persistence.EntityNotFoundException;
 import java.util.List;
-import java.util.Optional;
 
+/**
+ * States are reference data: reads are served from a {@link ReferenceDataSnapshot}, reloaded once a
+ * create, update or delete has committed. The State entities it returns are detached and shared by
+ * every caller, so they must not be modified; changes go through update().
+ */
 @Service
 public class StateServiceImpl implements StateService {
 
     private final StateRepository stateRepository;
+    private final ReferenceDataSnapshot<State> snapshot;
 
     public StateServiceImpl(StateRepository stateRepository) {
         this.stateRepository = stateRepository;
+        this.snapshot = new ReferenceDataSnapshot<>("State", stateRepository::findByOrderByIdAsc,
+                State::getId, State::getName);
     }
 
     @Override
+    @Transactional
     public State create(State state) {
         if (state != null) {
-            return stateRepository.save(state);
+            State created = stateRepository.save(state);
+            snapshot.reloadAfterCommit();
+            return created;
         }
         throw new NullEntityReferenceException("State cannot be 'null'");
     }
 
     @Override
     public State readById(long id) {
-        return stateRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("State with id " + id + " not found"));
+        return snapshot.byId(id);
     }
 
     @Override
+    @Transactional
     public State update(State state) {
         if (state != null) {
             readById(state.getId());
-            return stateRepository.save(state);
+            State updated = stateRepository.save(state);
+            snapshot.reloadAfterCommit();
+            return updated;
         }
         throw new NullEntityReferenceException("State cannot be 'null'");
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         State state = readById(id);
         stateRepository.delete(state);
+        snapshot.reloadAfterCommit();
     }
 
     @Override
     public List<State> getAll() {
-        return stateRepository.findByOrderByIdAsc();
+        return snapshot.all();
     }
 
     @Override
     public State getByName(String name) {
-        Optional<State> optional = Optional.ofNullable(stateRepository.findByName(name));
-        if (optional.isPresent()) {
-            return optional.get();
-        }
-        throw new EntityNotFoundException("State with name '" + name + "' not found");
+        return snapshot.byName(name);
     }
 }
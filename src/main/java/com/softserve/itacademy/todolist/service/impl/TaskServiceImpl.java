@@ -1,59 +1,84 @@
 package com.softserve.itacademy.todolist.service.impl;
 
+import com.softserve.itacademy.todolist.dto.TaskFilter;
+import com.softserve.itacademy.todolist.dto.TaskListDto;
+import com.softserve.itacademy.todolist.dto.TaskResponseDto;
+import com.softserve.itacademy.todolist.event.ToDoChangeEvent;
 import com.softserve.itacademy.todolist.exception.NullEntityReferenceException;
+import com.softserve.itacademy.todolist.model.State;
 import com.softserve.itacademy.todolist.model.Task;
 import com.softserve.itacademy.todolist.repository.TaskRepository;
+import com.softserve.itacademy.todolist.repository.TaskSpecifications;
+import com.softserve.itacademy.todolist.repository.ToDoRepository;
 import com.softserve.itacademy.todolist.service.TaskService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Transactional(readOnly = true)
 public class TaskServiceImpl implements TaskService {
 
-    private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
-
-
     private final TaskRepository taskRepository;
+    private final ToDoRepository todoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, ToDoRepository todoRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
+        this.todoRepository = todoRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public Task create(Task task) {
         if (task != null) {
-            return taskRepository.save(task);
+            attachTodo(List.of(task));
+            Task created = taskRepository.save(task);
+            todoRepository.raiseTasksVersion(List.of(created.getTodo().getId()));
+            eventPublisher.publishEvent(ToDoChangeEvent.taskCreated(created));
+            return created;
         }
         throw new NullEntityReferenceException("Task cannot be 'null'");
     }
 
     @Override
     public Task readById(long id) {
-
-        EntityNotFoundException exception = new EntityNotFoundException("Task with id " + id + " not found");
-        logger.error(exception.getMessage(), exception);
-
         return taskRepository.findById(id).orElseThrow(
-                () -> exception);
+                () -> new EntityNotFoundException("Task with id " + id + " not found"));
     }
 
     @Override
+    @Transactional
     public Task update(Task task) {
         if (task != null) {
-            readById(task.getId());
-            return taskRepository.save(task);
+            long previousTodoId = readById(task.getId()).getTodo().getId();
+            Task updated = taskRepository.save(task);
+            todoRepository.raiseTasksVersion(List.of(previousTodoId, updated.getTodo().getId()));
+            eventPublisher.publishEvent(ToDoChangeEvent.taskUpdated(updated));
+            return updated;
         }
         throw new NullEntityReferenceException("Task cannot be 'null'");
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         Task task = readById(id);
         taskRepository.delete(task);
+        todoRepository.raiseTasksVersion(List.of(task.getTodo().getId()));
+        eventPublisher.publishEvent(ToDoChangeEvent.taskDeleted(task));
     }
 
     @Override
@@ -61,8 +86,75 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findAll();
     }
 
+    // Flushed as JDBC batches (see hibernate.jdbc.batch_size) when the transaction commits.
+    @Override
+    @Transactional
+    public List<Task> createAll(List<Task> tasks) {
+        attachTodo(tasks);
+        List<Task> created = taskRepository.saveAll(tasks);
+        todoRepository.raiseTasksVersion(todoIds(created));
+        created.forEach(task -> eventPublisher.publishEvent(ToDoChangeEvent.taskCreated(task)));
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public List<Task> changeStates(Map<Long, State> statesByTaskId) {
+        List<Task> tasks = taskRepository.findAllById(statesByTaskId.keySet());
+        for (Task task : tasks) {
+            task.setState(statesByTaskId.get(task.getId()));
+            eventPublisher.publishEvent(ToDoChangeEvent.taskUpdated(task));
+        }
+        todoRepository.raiseTasksVersion(todoIds(tasks));
+        return tasks;
+    }
+
     @Override
     public List<Task> getByTodoId(long todoId) {
         return taskRepository.getByTodoId(todoId);
     }
+
+    @Override
+    public List<TaskResponseDto> getDtoByTodoId(long todoId) {
+        return taskRepository.findDtoByTodoId(todoId);
+    }
+
+    @Override
+    public TaskListDto getListDtoByTodoId(long todoId) {
+        return taskRepository.findListDtoByTodoId(todoId);
+    }
+
+    @Override
+    public List<TaskResponseDto> getPage(TaskFilter filter, Long afterId, boolean newestFirst, int limit) {
+        Specification<Task> specification = TaskSpecifications.matching(filter);
+        if (afterId != null) {
+            specification = specification.and(TaskSpecifications.after(afterId, newestFirst));
+        }
+        Sort sort = newestFirst ? Sort.by(Sort.Direction.DESC, "id") : Sort.by("id");
+        return taskRepository.findDtoPage(specification, sort, limit);
+    }
+
+    // The cursor behind the stream is only valid inside a transaction.
+    @Override
+    public void streamAll(Consumer<TaskResponseDto> consumer) {
+        try (Stream<TaskResponseDto> tasks = taskRepository.streamAll()) {
+            tasks.forEach(consumer);
+        }
+    }
+
+    // Callers pass todos read in an earlier transaction; indexing a new task reads the todo's
+    // owner and collaborators, which needs a todo of this transaction.
+    private void attachTodo(List<Task> tasks) {
+        for (Task task : tasks) {
+            task.setTodo(todoRepository.getReferenceById(task.getTodo().getId()));
+        }
+    }
+
+    private static Set<Long> todoIds(List<Task> tasks) {
+        Set<Long> todoIds = new HashSet<>();
+        for (Task task : tasks) {
+            todoIds.add(task.getTodo().getId());
+        }
+        return todoIds;
+    }
 }
@@ -1,27 +1,75 @@
 package com.softserve.itacademy.todolist.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.softserve.itacademy.todolist.dto.CursorCodec;
+import com.softserve.itacademy.todolist.dto.ResourceVersion;
+import com.softserve.itacademy.todolist.dto.ToDoListDto;
+import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
+import com.softserve.itacademy.todolist.event.ToDoChangeEvent;
 import com.softserve.itacademy.todolist.exception.NullEntityReferenceException;
 import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.model.User;
 import com.softserve.itacademy.todolist.repository.ToDoRepository;
+import com.softserve.itacademy.todolist.security.ToDoAclCache;
+import com.softserve.itacademy.todolist.service.SearchService;
 import com.softserve.itacademy.todolist.service.ToDoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.EntityNotFoundException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class ToDoServiceImpl implements ToDoService {
 
+    // first-page bounds for the keyset queries, outside any creation time a row can have
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59);
+
     private final ToDoRepository todoRepository;
+    private final ToDoAclCache aclCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SearchService searchService;
+    // per user: todos shared with them and all todos, see isScanCheaper
+    private final Cache<Long, long[]> visibleTodoCounts;
 
-    public ToDoServiceImpl(ToDoRepository todoRepository) {
+    public ToDoServiceImpl(ToDoRepository todoRepository, ToDoAclCache aclCache,
+                           EntityManagerFactory entityManagerFactory, ApplicationEventPublisher eventPublisher,
+                           SearchService searchService,
+                           @Value("${todolist.visible-todos.counts-max-users:10000}") int countsMaxUsers,
+                           @Value("${todolist.visible-todos.counts-ttl:1m}") Duration countsTtl) {
         this.todoRepository = todoRepository;
+        this.aclCache = aclCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.searchService = searchService;
+        this.visibleTodoCounts = Caffeine.newBuilder()
+                .maximumSize(countsMaxUsers)
+                .expireAfterWrite(countsTtl)
+                .build();
     }
 
     @Override
+    @Transactional
     public ToDo create(ToDo todo) {
         if (todo != null) {
-            return todoRepository.save(todo);
+            ToDo created = todoRepository.save(todo);
+            ownedTodosChanged(todo.getOwner());
+            return created;
         }
         throw new NullEntityReferenceException("ToDo cannot be 'null'");
     }
@@ -33,18 +81,33 @@ public class ToDoServiceImpl implements ToDoService {
     }
 
     @Override
+    public ToDo readWithCollaborators(long id) {
+        return todoRepository.findWithCollaboratorsById(id).orElseThrow(
+                () -> new EntityNotFoundException("ToDo with id " + id + " not found"));
+    }
+
+    // The todo is merged into the copy read here, so the one returned has its collaborators loaded.
+    @Override
+    @Transactional
     public ToDo update(ToDo todo) {
         if (todo != null) {
-            readById(todo.getId());
-            return todoRepository.save(todo);
+            readWithCollaborators(todo.getId());
+            ToDo saved = todoRepository.save(todo);
+            aclCache.evict(todo.getId());
+            ownedTodosChanged(todo.getOwner());
+            return saved;
         }
         throw new NullEntityReferenceException("ToDo cannot be 'null'");
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         ToDo todo = readById(id);
         todoRepository.delete(todo);
+        aclCache.evict(id);
+        ownedTodosChanged(todo.getOwner());
+        eventPublisher.publishEvent(ToDoChangeEvent.todoDeleted(id));
     }
 
     @Override
@@ -53,7 +116,154 @@ public class ToDoServiceImpl implements ToDoService {
     }
 
     @Override
-    public List<ToDo> getByUserId(long userId) {
-        return todoRepository.getByUserId(userId);
+    @Transactional
+    public boolean addCollaborator(long todoId, long collaboratorId) {
+        ToDo todo = readForUpdate(todoId);
+        if (!todoRepository.addCollaborator(todoId, collaboratorId)) {
+            return false;
+        }
+        collaboratorsChanged(todo);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean removeCollaborator(long todoId, long collaboratorId) {
+        ToDo todo = readForUpdate(todoId);
+        if (!todoRepository.removeCollaborator(todoId, collaboratorId)) {
+            return false;
+        }
+        collaboratorsChanged(todo);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public void removeCollaboratorFromAll(long collaboratorId) {
+        for (long todoId : todoRepository.findIdsByCollaboratorId(collaboratorId)) {
+            if (removeCollaborator(todoId, collaboratorId)) {
+                eventPublisher.publishEvent(ToDoChangeEvent.collaboratorRemoved(todoId, collaboratorId));
+            }
+        }
+    }
+
+    @Override
+    public List<ToDoResponseDto> getVisibleDto(long userId, CursorCodec.CreatedAtKey after, boolean newestFirst,
+                                               int limit) {
+        List<Object[]> rows;
+        if (newestFirst) {
+            LocalDateTime createdAt = after == null ? LATEST : after.getCreatedAt();
+            long id = after == null ? Long.MAX_VALUE : after.getId();
+            rows = isScanCheaper(userId, limit)
+                    ? todoRepository.scanVisibleBefore(userId, createdAt, id, limit)
+                    : todoRepository.findVisibleBefore(userId, createdAt, id, limit);
+        } else {
+            rows = after == null
+                    ? todoRepository.findVisibleAfter(userId, EARLIEST, 0, limit)
+                    : todoRepository.findVisibleAfter(userId, after.getCreatedAt(), after.getId(), limit);
+        }
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<ToDoResponseDto> todos = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            todos.add(new ToDoResponseDto(((Number) row[0]).longValue(), (String) row[1],
+                    ((Timestamp) row[2]).toLocalDateTime(), ((Number) row[3]).longValue()));
+        }
+        List<Long> ids = todos.stream().map(ToDoResponseDto::getId).collect(Collectors.toList());
+        return withCollaborators(todos, todoRepository.findCollaboratorIdsByTodoIds(ids));
+    }
+
+    @Override
+    public List<ToDoResponseDto> getAllDto() {
+        return withCollaborators(todoRepository.findAllDto(), todoRepository.findAllCollaboratorIds());
+    }
+
+    @Override
+    public List<ToDoResponseDto> getDtoByOwnerId(long ownerId) {
+        return withCollaborators(todoRepository.findDtoByOwnerId(ownerId),
+                todoRepository.findCollaboratorIdsByOwnerId(ownerId));
+    }
+
+    @Override
+    public ToDoListDto getAllListDto() {
+        return todoRepository.findAllListDto();
+    }
+
+    @Override
+    public ToDoListDto getListDtoByOwnerId(long ownerId) {
+        return todoRepository.findListDtoByOwnerId(ownerId);
+    }
+
+    @Override
+    public Optional<ResourceVersion> getVersion(long id) {
+        return todoRepository.findVersion(id);
+    }
+
+    @Override
+    public Optional<ResourceVersion> getTasksVersion(long todoId) {
+        return toVersion(todoRepository.findTasksVersion(todoId));
+    }
+
+    @Override
+    public Optional<ResourceVersion> getOwnedTodosVersion(long ownerId) {
+        return toVersion(todoRepository.findOwnedTodosVersion(ownerId));
+    }
+
+    private static Optional<ResourceVersion> toVersion(List<Object[]> rows) {
+        return rows.stream().findFirst().map(row ->
+                new ResourceVersion(((Number) row[0]).longValue(), ((Timestamp) row[1]).toLocalDateTime()));
+    }
+
+    // The row lock queues collaborator changes of one todo, so each reads the version and the
+    // collaborator rows the previous one committed.
+    private ToDo readForUpdate(long id) {
+        ToDo todo = readById(id);
+        todoRepository.refreshForUpdate(todo);
+        return todo;
+    }
+
+    // The rows were written around the entity, which still gets its version and updated_at raised,
+    // and around the automatic indexing, which would otherwise miss the change of who can see it.
+    private void collaboratorsChanged(ToDo todo) {
+        todo.setUpdatedAt(LocalDateTime.now());
+        searchService.reindex(todo);
+        aclCache.evict(todo.getId());
+        ownedTodosChanged(todo.getOwner());
+    }
+
+    // The union reads every todo shared with the user, the scan about limit * todos / shared rows.
+    // Either query returns the same page, so the counts that pick one are reused for a while
+    // instead of being read again for every page.
+    private boolean isScanCheaper(long userId, int limit) {
+        long[] counts = visibleTodoCounts.get(userId, id -> {
+            Object[] row = todoRepository.countSharedWithAndAll(id).get(0);
+            return new long[]{((Number) row[0]).longValue(), ((Number) row[1]).longValue()};
+        });
+        long shared = counts[0];
+        return shared > limit && shared * shared > limit * counts[1];
+    }
+
+    private static List<ToDoResponseDto> withCollaborators(List<ToDoResponseDto> todos, List<Object[]> collaboratorIds) {
+        Map<Long, ToDoResponseDto> byId = new HashMap<>(todos.size() * 2);
+        for (ToDoResponseDto todo : todos) {
+            byId.put(todo.getId(), todo);
+        }
+        for (Object[] row : collaboratorIds) {
+            ToDoResponseDto todo = byId.get(((Number) row[0]).longValue());
+            if (todo != null) {
+                todo.getCollaborators().add(((Number) row[1]).longValue());
+            }
+        }
+        return todos;
+    }
+
+    // Also evicts the cached inverse side (User.myTodos), which Hibernate does not invalidate when a todo changes.
+    private void ownedTodosChanged(User owner) {
+        if (owner != null && owner.getId() != null) {
+            todoRepository.raiseOwnedTodosVersion(owner.getId());
+            entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class)
+                    .evictCollectionData(User.class.getName() + ".myTodos", owner.getId());
+        }
     }
 }
@@ -1,23 +1,33 @@
 package com.softserve.itacademy.todolist.service.impl;
 
+import com.softserve.itacademy.todolist.dto.UserListDto;
 import com.softserve.itacademy.todolist.exception.NullEntityReferenceException;
 import com.softserve.itacademy.todolist.model.User;
 import com.softserve.itacademy.todolist.repository.UserRepository;
+import com.softserve.itacademy.todolist.security.ToDoAclCache;
+import com.softserve.itacademy.todolist.service.ToDoService;
 import com.softserve.itacademy.todolist.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
 
 @Service
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private ToDoAclCache aclCache;
+    @Autowired
+    private ToDoService todoService;
 
     @Override
+    @Transactional
     public User create(User role) {
         if (role != null) {
             return userRepository.save(role);
@@ -37,6 +47,12 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    public boolean exists(long id) {
+        return userRepository.existsById(id);
+    }
+
+    @Override
+    @Transactional
     public User update(User role) {
         if (role != null) {
             readById(role.getId());
@@ -46,9 +62,14 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         User user = readById(id);
+        // shared todos first, so they and their owners' lists get new versions
+        todoService.removeCollaboratorFromAll(id);
         userRepository.delete(user);
+        // owned todos go with the user
+        aclCache.clear();
     }
 
     @Override
@@ -56,6 +77,11 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    @Override
+    public UserListDto getAllListDto() {
+        return userRepository.findAllListDto();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(username);
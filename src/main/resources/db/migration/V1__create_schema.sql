@@ -1,6 +1,7 @@
 create table roles (id bigint generated by default as identity, name varchar(255) not null, primary key (id));
 create table states (id bigint generated by default as identity, name varchar(255) not null, primary key (id));
 create table tasks (id bigint generated by default as identity, name varchar(255) not null, priority varchar(255), state_id bigint, todo_id bigint, primary key (id));
+create sequence tasks_seq start with 1 increment by 50;
 create table todo_collaborator (collaborator_id bigint not null, todo_id bigint not null);
 create table todos (id bigint generated by default as identity, created_at timestamp not null, title varchar(255) not null, owner_id bigint, primary key (id));
 create table users (id bigint generated by default as identity, email varchar(255) not null, first_name varchar(255) not null, last_name varchar(255) not null, password varchar(255) not null, role_id bigint, primary key (id));
@@ -0,0 +1,18 @@
+-- todo_collaborator is a pure join table: the pair is its natural key, and the key index
+-- serves the todo -> collaborators lookup, the second index the user -> shared todos one
+alter table todo_collaborator add constraint PK_todo_collaborator primary key (todo_id, collaborator_id);
+create index IX_todo_collaborator_collaborator on todo_collaborator (collaborator_id, todo_id);
+
+-- tasks of a todo, read in id order (keyset paging) without touching the table rows
+create index IX_tasks_todo on tasks (todo_id, id);
+create index IX_tasks_state on tasks (state_id);
+
+-- todos of an owner, newest first
+create index IX_todos_owner on todos (owner_id, created_at, id);
+
+-- databases created from the old schema.sql/data.sql left the identity generators at their
+-- start value after the explicit-id seed rows, so the next insert collided with an existing key
+alter table roles alter column id restart with (select coalesce(max(id), 0) + 1 from roles);
+alter table users alter column id restart with (select coalesce(max(id), 0) + 1 from users);
+alter table states alter column id restart with (select coalesce(max(id), 0) + 1 from states);
+alter table todos alter column id restart with (select coalesce(max(id), 0) + 1 from todos);
@@ -0,0 +1,3 @@
+-- newest-first walk over all todos, used to list the todos visible to a user who collaborates
+-- on a large share of them; descending because H2 only reads an index in its own direction
+create index IX_todos_created_at_desc on todos (created_at desc, id desc);
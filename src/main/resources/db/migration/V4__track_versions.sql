@@ -0,0 +1,14 @@
+-- optimistic-lock versions and modification times of todos and tasks
+alter table todos add column version bigint default 0 not null;
+alter table todos add column updated_at timestamp default current_timestamp not null;
+update todos set updated_at = created_at;
+alter table tasks add column version bigint default 0 not null;
+alter table tasks add column updated_at timestamp default current_timestamp not null;
+
+-- collection versions, raised in the transaction that changes the collection, so a list's ETag
+-- is read from one row: the tasks of a todo, and the todos of an owner (with their collaborators);
+-- not mapped by the entities, they never go stale in the second-level cache
+alter table todos add column tasks_version bigint default 0 not null;
+alter table todos add column tasks_updated_at timestamp default current_timestamp not null;
+alter table users add column todos_version bigint default 0 not null;
+alter table users add column todos_updated_at timestamp default current_timestamp not null;
@@ -0,0 +1,7 @@
+-- filtered task listings (GET /api/tasks): the equality filters lead, id last so a page in id
+-- order is read off the index range; with a todo the range is small enough for either direction
+create index IX_tasks_todo_priority_state on tasks (todo_id, priority, state_id, id);
+create index IX_tasks_priority_state on tasks (priority, state_id, id);
+
+-- name prefix search, a like 'abc%' is an index range
+create index IX_tasks_name on tasks (name, id);
@@ -1,9 +1,9 @@
 INSERT INTO roles (id, name) VALUES (1, 'ADMIN');
 INSERT INTO roles (id, name) VALUES (2, 'USER');
 
-INSERT INTO users (id, first_name, last_name, email, password, role_id) VALUES (11, 'Mike', 'Brown', 'mike@mail.com', '$2a$10$CdEJ2PKXgUCIwU4pDQWICuiPjxb1lysoX7jrN.Y4MTMoY9pjfPALO', 1);
-INSERT INTO users (id, first_name, last_name, email, password, role_id) VALUES (12, 'Nick', 'Green', 'nick@mail.com', '$2a$10$CJgEoobU2gm0euD4ygru4ukBf9g8fYnPrMvYk.q0GMfOcIDtUhEwC', 2);
-INSERT INTO users (id, first_name, last_name, email, password, role_id) VALUES (13, 'Nora', 'White', 'nora@mail.com', '$2a$10$yYQaJrHzjOgD5wWCyelp0e1Yv1KEKeqUlYfLZQ1OQvyUrnEcX/rOy', 2);
+INSERT INTO users (id, first_name, last_name, email, password, role_id) VALUES (1, 'Mike', 'Brown', 'mike@mail.com', '$2a$10$CdEJ2PKXgUCIwU4pDQWICuiPjxb1lysoX7jrN.Y4MTMoY9pjfPALO', 1);
+INSERT INTO users (id, first_name, last_name, email, password, role_id) VALUES (2, 'Nick', 'Green', 'nick@mail.com', '$2a$10$CJgEoobU2gm0euD4ygru4ukBf9g8fYnPrMvYk.q0GMfOcIDtUhEwC', 2);
+INSERT INTO users (id, first_name, last_name, email, password, role_id) VALUES (3, 'Nora', 'White', 'nora@mail.com', '$2a$10$yYQaJrHzjOgD5wWCyelp0e1Yv1KEKeqUlYfLZQ1OQvyUrnEcX/rOy', 2);
 
 INSERT INTO states (id, name) VALUES (1, 'NEW');
 INSERT INTO states (id, name) VALUES (2, 'DOING');
@@ -28,3 +28,5 @@ INSERT INTO todo_collaborator (todo_id, collaborator_id) VALUES (4, 3);
 INSERT INTO todo_collaborator (todo_id, collaborator_id) VALUES (4, 1);
 INSERT INTO todo_collaborator (todo_id, collaborator_id) VALUES (6, 2);
 INSERT INTO todo_collaborator (todo_id, collaborator_id) VALUES (6, 1);
+
+ALTER SEQUENCE tasks_seq RESTART WITH 101;
@@ -0,0 +1,111 @@
+package com.softserve.itacademy.todolist;
+
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.Role;
+import com.softserve.itacademy.todolist.model.State;
+import com.softserve.itacademy.todolist.model.Task;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.repository.RoleRepository;
+import com.softserve.itacademy.todolist.repository.TaskRepository;
+import com.softserve.itacademy.todolist.repository.ToDoRepository;
+import com.softserve.itacademy.todolist.repository.UserRepository;
+import com.softserve.itacademy.todolist.security.JwtTokenProvider;
+import com.softserve.itacademy.todolist.service.RoleService;
+import com.softserve.itacademy.todolist.service.StateService;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.http.HttpHeaders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rows for the tests on the shared database. Every user and todo is new, so tests never see each
+ * other's; roles and states are looked up by name and created on first use, through the services so
+ * their snapshots are reloaded.
+ */
+@TestComponent
+public class TestData {
+
+    public static final String PASSWORD = "Passw0rd";
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final RoleRepository roleRepository;
+    private final RoleService roleService;
+    private final StateService stateService;
+    private final UserRepository userRepository;
+    private final ToDoRepository toDoRepository;
+    private final TaskRepository taskRepository;
+    private final JwtTokenProvider tokenProvider;
+
+    public TestData(RoleRepository roleRepository, RoleService roleService, StateService stateService,
+                    UserRepository userRepository, ToDoRepository toDoRepository, TaskRepository taskRepository,
+                    JwtTokenProvider tokenProvider) {
+        this.roleRepository = roleRepository;
+        this.roleService = roleService;
+        this.stateService = stateService;
+        this.userRepository = userRepository;
+        this.toDoRepository = toDoRepository;
+        this.taskRepository = taskRepository;
+        this.tokenProvider = tokenProvider;
+    }
+
+    public Role role(String name) {
+        return roleRepository.findAll().stream().filter(existing -> name.equals(existing.getName())).findFirst()
+                .orElseGet(() -> {
+                    Role created = new Role();
+                    created.setName(name);
+                    return roleService.create(created);
+                });
+    }
+
+    public State state(String name) {
+        return stateService.getAll().stream().filter(existing -> name.equals(existing.getName())).findFirst()
+                .orElseGet(() -> {
+                    State created = new State();
+                    created.setName(name);
+                    return stateService.create(created);
+                });
+    }
+
+    public User user(String roleName) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmail("user" + SEQUENCE.incrementAndGet() + "." + System.nanoTime() + "@mail.com");
+        user.setPassword(PASSWORD);
+        user.setRole(role(roleName));
+        return userRepository.save(user);
+    }
+
+    public ToDo todo(User owner, User... collaborators) {
+        return todo("To-Do #" + SEQUENCE.incrementAndGet() + " " + System.nanoTime(), owner, collaborators);
+    }
+
+    public ToDo todo(String title, User owner, User... collaborators) {
+        ToDo todo = new ToDo();
+        todo.setTitle(title);
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        todo.setCollaborators(new ArrayList<>(List.of(collaborators)));
+        return toDoRepository.save(todo);
+    }
+
+    public Task task(ToDo todo, String name, Priority priority, State state) {
+        Task task = new Task();
+        task.setName(name);
+        task.setPriority(priority);
+        task.setState(state);
+        task.setTodo(todo);
+        return taskRepository.save(task);
+    }
+
+    public HttpHeaders bearer(User user) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenProvider.createAccessToken(user));
+        return headers;
+    }
+}
@@ -3,7 +3,7 @@ package com.softserve.itacademy.todolist;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "todolist.jwt.generate-secret=true")
 class ToDoListApplicationTests {
 
     @Test
@@ -0,0 +1,126 @@
+package com.softserve.itacademy.todolist.config;
+
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.dto.ToDoResponseDto;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.service.ToDoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "todolist.datasource.replica.jdbc-url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "todolist.datasource.replica.username=sa",
+        "todolist.datasource.replica.password=sa",
+        "todolist.datasource.replica.stand-in.enabled=true",
+        "todolist.datasource.replica.stand-in.lag=20ms",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class ReadReplicaRoutingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ToDoService todoService;
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        assertEquals("ROUTING-REPLICA", readOnly.execute(status -> database()));
+        assertEquals("ROUTING-PRIMARY", new TransactionTemplate(transactionManager).execute(status -> database()));
+        assertEquals("ROUTING-PRIMARY", database());
+    }
+
+    @Test
+    void committedWritesReachTheReplica() throws InterruptedException {
+        User owner = testData.user("USER");
+        ToDo todo = newTodo(owner);
+        long todoId = todo.getId();
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+
+        awaitOnReplica(() -> titleOnReplica(replica, todoId).equals(List.of("Replicated")));
+        List<ToDoResponseDto> owned = todoService.getDtoByOwnerId(owner.getId());
+        assertEquals(List.of(todoId), owned.stream().map(ToDoResponseDto::getId).collect(Collectors.toList()));
+
+        todo.setTitle("Renamed");
+        todoService.update(todo);
+        awaitOnReplica(() -> titleOnReplica(replica, todoId).equals(List.of("Renamed")));
+
+        todoService.delete(todoId);
+        awaitOnReplica(() -> titleOnReplica(replica, todoId).isEmpty());
+    }
+
+    // the request reads the todo and the state before the write transaction starts
+    @Test
+    void writeAfterReadsInOneRequestGoesToThePrimary() throws Exception {
+        User owner = testData.user("USER");
+        ToDo todo = newTodo(owner);
+        testData.state("NEW");
+        awaitOnReplica(() -> titleOnReplica(new JdbcTemplate(replicaDataSource), todo.getId()).size() == 1);
+
+        mockMvc.perform(post("/api/tasks/{todo_id}/create", todo.getId())
+                        .headers(testData.bearer(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"task_name\":\"Written\",\"priority\":\"LOW\"}"))
+                .andExpect(status().isCreated());
+        assertEquals(List.of("Written"), new JdbcTemplate(primaryDataSource)
+                .queryForList("select name from tasks where todo_id = ?", String.class, todo.getId()));
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+
+    private static List<String> titleOnReplica(JdbcTemplate replica, long todoId) {
+        return replica.queryForList("select title from todos where id = ?", String.class, todoId);
+    }
+
+    private static void awaitOnReplica(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "the replica did not catch up");
+            Thread.sleep(20);
+        }
+    }
+
+    private ToDo newTodo(User owner) {
+        ToDo todo = new ToDo();
+        todo.setTitle("Replicated");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        return todoService.create(todo);
+    }
+}
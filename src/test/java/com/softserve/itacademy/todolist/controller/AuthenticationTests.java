@@ -0,0 +1,152 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+class AuthenticationTests {
+
+    private static final String PASSWORD = TestData.PASSWORD;
+    // a key of this test's own, so it can sign tokens the application has to accept or reject
+    private static final String SECRET = randomSecret();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @DynamicPropertySource
+    static void signingKey(DynamicPropertyRegistry registry) {
+        registry.add("todolist.jwt.secret", () -> SECRET);
+    }
+
+    @BeforeEach
+    void setUp() {
+        // search looks the ADMIN role up to scope its results
+        testData.role("ADMIN");
+        user = testData.user("USER");
+        // the entity validates the plain password, the login compares against the BCrypt hash
+        jdbcTemplate.update("update users set password = ? where id = ?", passwordEncoder.encode(PASSWORD), user.getId());
+    }
+
+    @Test
+    void loginIssuesTokensThatAuthenticate() throws Exception {
+        JsonNode tokens = tokens(login(PASSWORD));
+        assertEquals("Bearer", tokens.get("token_type").asText());
+        assertEquals(900, tokens.get("expires_in").asLong());
+
+        search(tokens.get("access_token").asText()).andExpect(status().isOk());
+        search(null).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void wrongPasswordIsRejected() throws Exception {
+        login("wrong").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshTokenIssuesANewPair() throws Exception {
+        JsonNode tokens = tokens(login(PASSWORD));
+        JsonNode refreshed = tokens(refresh(tokens.get("refresh_token").asText()));
+        search(refreshed.get("access_token").asText()).andExpect(status().isOk());
+
+        refresh(tokens.get("access_token").asText()).andExpect(status().isUnauthorized());
+        refresh("not-a-token").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void expiredAndTamperedTokensGet401() throws Exception {
+        JwtTokenProvider expired = new JwtTokenProvider(SECRET, false, Duration.ofSeconds(-1), Duration.ofSeconds(-1));
+        search(expired.createAccessToken(user)).andExpect(status().isUnauthorized());
+        refresh(expired.createRefreshToken(user)).andExpect(status().isUnauthorized());
+
+        // the user's own token, with its role claim changed and the signature kept
+        String[] parts = tokenProvider.createAccessToken(user).split("\\.");
+        String claims = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("\"role\":\"USER\"", "\"role\":\"ADMIN\"");
+        assertTrue(claims.contains("ADMIN"));
+        String tampered = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(claims.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+        search(tampered).andExpect(status().isUnauthorized());
+
+        JwtTokenProvider otherKey = new JwtTokenProvider(randomSecret(), false, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        search(otherKey.createAccessToken(user)).andExpect(status().isUnauthorized());
+        // a refresh token is not an access token
+        search(tokenProvider.createRefreshToken(user)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void startupNeedsASigningKey() {
+        assertThrows(IllegalStateException.class,
+                () -> new JwtTokenProvider("", false, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+    }
+
+    private ResultActions login(String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("username", user.getEmail(), "password", password))));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refresh_token", refreshToken))));
+    }
+
+    // search answers 401 without a principal, so it shows whether the token authenticated the request
+    private ResultActions search(String accessToken) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        if (accessToken != null) {
+            headers.setBearerAuth(accessToken);
+        }
+        return mockMvc.perform(get("/api/search").param("q", "anything").headers(headers));
+    }
+
+    private JsonNode tokens(ResultActions response) throws Exception {
+        return objectMapper.readTree(response.andExpect(status().isOk()).andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private static String randomSecret() {
+        byte[] key = new byte[48];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+}
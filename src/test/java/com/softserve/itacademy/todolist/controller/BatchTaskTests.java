@@ -0,0 +1,177 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.State;
+import com.softserve.itacademy.todolist.model.Task;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+class BatchTaskTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private ToDo todo;
+    private State created;
+    private State done;
+
+    @BeforeEach
+    void setUp() {
+        created = testData.state("NEW");
+        done = testData.state("DONE");
+        todo = testData.todo(testData.user("USER"));
+    }
+
+    @Test
+    void createsEveryTaskWith201() throws Exception {
+        JsonNode results = body(create(List.of(task("First", "LOW"), task("Second", "HIGH")))
+                .andExpect(status().isCreated()));
+
+        assertEquals(2, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).get("index").asInt());
+            assertEquals(201, results.get(i).get("status").asInt());
+            Task task = taskRepository.findById(results.get(i).get("task_id").asLong()).orElseThrow();
+            assertEquals(todo.getId(), task.getTodo().getId());
+            assertEquals(created.getId(), task.getState().getId());
+        }
+        assertEquals(Priority.HIGH, taskRepository.findById(results.get(1).get("task_id").asLong())
+                .orElseThrow().getPriority());
+    }
+
+    @Test
+    void reportsFailedItemsWith207() throws Exception {
+        List<Map<String, String>> tasks = new ArrayList<>();
+        tasks.add(task("Valid", "MEDIUM"));
+        tasks.add(task(" ", "LOW"));
+        tasks.add(task("Unknown priority", "URGENT"));
+        tasks.add(null);
+        JsonNode results = body(create(tasks).andExpect(status().isMultiStatus()));
+
+        assertEquals(201, results.get(0).get("status").asInt());
+        assertTrue(taskRepository.existsById(results.get(0).get("task_id").asLong()));
+        for (int i = 1; i < tasks.size(); i++) {
+            assertEquals(400, results.get(i).get("status").asInt(), "item " + i);
+            assertFalse(results.get(i).has("task_id"), "item " + i);
+            assertTrue(results.get(i).get("error").asText().length() > 0, "item " + i);
+        }
+        assertTrue(results.get(2).get("error").asText().contains("URGENT"));
+        assertEquals(1, taskRepository.getByTodoId(todo.getId()).size());
+    }
+
+    @Test
+    void batchesAreCappedAt1000Items() throws Exception {
+        create(Collections.nCopies(1000, task("Task", "LOW"))).andExpect(status().isCreated());
+        create(Collections.nCopies(1001, task("Task", "LOW"))).andExpect(status().isBadRequest());
+        changeStates(Collections.nCopies(1001, change(1L, done.getId()))).andExpect(status().isBadRequest());
+        assertEquals(1000, taskRepository.getByTodoId(todo.getId()).size());
+    }
+
+    @Test
+    void changesEveryStateWith200() throws Exception {
+        List<Long> ids = createdIds(3);
+        List<Map<String, Long>> changes = new ArrayList<>();
+        for (Long id : ids) {
+            changes.add(change(id, done.getId()));
+        }
+        JsonNode results = body(changeStates(changes).andExpect(status().isOk()));
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(200, results.get(i).get("status").asInt());
+            assertEquals(ids.get(i), results.get(i).get("task_id").asLong());
+            assertEquals(done.getId(), taskRepository.findById(ids.get(i)).orElseThrow().getState().getId());
+        }
+    }
+
+    @Test
+    void reportsFailedStateChangesWith207() throws Exception {
+        List<Long> ids = createdIds(2);
+        long missingTask = ids.get(1) + 1_000_000;
+        long missingState = done.getId() + 1_000_000;
+        JsonNode results = body(changeStates(List.of(
+                change(ids.get(0), done.getId()),
+                change(ids.get(1), missingState),
+                change(missingTask, done.getId()),
+                change(ids.get(0), created.getId()),
+                change(null, done.getId())))
+                .andExpect(status().isMultiStatus()));
+
+        assertEquals(List.of(200, 400, 404, 400, 400), statuses(results));
+        assertEquals(done.getId(), taskRepository.findById(ids.get(0)).orElseThrow().getState().getId());
+        assertEquals(created.getId(), taskRepository.findById(ids.get(1)).orElseThrow().getState().getId());
+    }
+
+    private List<Long> createdIds(int count) throws Exception {
+        List<Map<String, String>> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(task("Task " + i, "LOW"));
+        }
+        List<Long> ids = new ArrayList<>();
+        body(create(tasks).andExpect(status().isCreated())).forEach(result -> ids.add(result.get("task_id").asLong()));
+        return ids;
+    }
+
+    private ResultActions create(List<Map<String, String>> tasks) throws Exception {
+        return perform(post("/api/tasks/{todo_id}/batch", todo.getId()), tasks);
+    }
+
+    private ResultActions changeStates(List<Map<String, Long>> changes) throws Exception {
+        return perform(patch("/api/tasks/batch/state"), changes);
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body)));
+    }
+
+    private JsonNode body(ResultActions response) throws Exception {
+        return objectMapper.readTree(response.andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private static List<Integer> statuses(JsonNode results) {
+        List<Integer> statuses = new ArrayList<>();
+        results.forEach(result -> statuses.add(result.get("status").asInt()));
+        return statuses;
+    }
+
+    private static Map<String, String> task(String name, String priority) {
+        return Map.of("task_name", name, "priority", priority);
+    }
+
+    private static Map<String, Long> change(Long taskId, long stateId) {
+        Map<String, Long> change = new HashMap<>();
+        change.put("task_id", taskId);
+        change.put("state_id", stateId);
+        return change;
+    }
+}
@@ -0,0 +1,141 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.repository.ToDoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@IntegrationTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CollaboratorConcurrencyTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private ToDoRepository toDoRepository;
+
+    private ExecutorService executor;
+    private User owner;
+    private ToDo todo;
+    private HttpHeaders headers;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        // the controller looks the ADMIN role up before checking ownership
+        testData.role("ADMIN");
+        owner = testData.user("USER");
+        todo = testData.todo(owner);
+        headers = testData.bearer(owner);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentAddsAndRemovesOfDifferentUsersAllApply() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < THREADS * 2; i++) {
+            users.add(testData.user("USER"));
+        }
+
+        List<Integer> added = inParallel(users, user -> add(user.getId()));
+        assertTrue(added.stream().allMatch(status -> status == 201), "add statuses " + added);
+        assertEquals(ids(users), collaboratorIds());
+
+        List<User> removed = users.subList(0, THREADS);
+        List<Integer> removedStatuses = inParallel(removed, user -> remove(user.getId()));
+        assertTrue(removedStatuses.stream().allMatch(status -> status == 204), "remove statuses " + removedStatuses);
+        assertEquals(ids(users.subList(THREADS, users.size())), collaboratorIds());
+
+        // every change raised the version once, none of them was lost or rejected
+        assertEquals(users.size() + removed.size(), toDoRepository.findVersion(todo.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void concurrentAddsOfTheSameUserInsertOneRow() throws Exception {
+        User user = testData.user("USER");
+        List<User> sameUser = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            sameUser.add(user);
+        }
+
+        Map<Integer, Long> statuses = inParallel(sameUser, same -> add(same.getId())).stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        assertEquals(Map.of(201, 1L, 409, (long) THREADS - 1), statuses);
+        assertEquals(List.of(user.getId()), collaboratorIds());
+
+        statuses = inParallel(sameUser, same -> remove(same.getId())).stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        assertEquals(Map.of(204, (long) THREADS), statuses);
+        assertEquals(List.of(), collaboratorIds());
+        assertEquals(2, toDoRepository.findVersion(todo.getId()).orElseThrow().getVersion());
+    }
+
+    private int add(long userId) {
+        return restTemplate.exchange("/api/todos/{todo_id}/users/{user_id}/add", HttpMethod.POST,
+                new HttpEntity<>(headers), String.class, todo.getId(), userId).getStatusCodeValue();
+    }
+
+    private int remove(long userId) {
+        return restTemplate.exchange("/api/todos/{todo_id}/users/{user_id}/remove", HttpMethod.DELETE,
+                new HttpEntity<>(headers), String.class, todo.getId(), userId).getStatusCodeValue();
+    }
+
+    // all requests are released at once to maximise the overlap
+    private <T> List<Integer> inParallel(List<T> items, Function<T, Integer> request) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (T item : items) {
+            Callable<Integer> call = () -> {
+                start.await();
+                return request.apply(item);
+            };
+            futures.add(executor.submit(call));
+        }
+        start.countDown();
+        List<Integer> statuses = new ArrayList<>();
+        for (Future<Integer> future : futures) {
+            statuses.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return statuses;
+    }
+
+    private List<Long> collaboratorIds() {
+        return toDoRepository.findCollaboratorIds(todo.getId()).stream().sorted().collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(List<User> users) {
+        return users.stream().map(User::getId).sorted().collect(Collectors.toList());
+    }
+}
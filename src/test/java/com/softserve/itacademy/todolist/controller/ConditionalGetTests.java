@@ -0,0 +1,175 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TestData testData;
+
+    private User owner;
+    private ToDo todo;
+
+    @BeforeEach
+    void setUp() {
+        // adding a collaborator looks the ADMIN role up
+        testData.role("ADMIN");
+        testData.state("NEW");
+        owner = testData.user("USER");
+        todo = testData.todo(owner);
+    }
+
+    @Test
+    void taskListsAnswer304UntilATaskIsWritten() throws Exception {
+        for (String url : taskListUrls()) {
+            String etag = getOk(url).getHeader(HttpHeaders.ETAG);
+            assertNotNull(etag, url);
+            mockMvc.perform(read(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+        }
+        String before = getOk(taskListUrls().get(0)).getHeader(HttpHeaders.ETAG);
+
+        addTask();
+
+        String after = getOk(taskListUrls().get(0)).getHeader(HttpHeaders.ETAG);
+        assertNotEquals(before, after);
+        for (String url : taskListUrls()) {
+            // the three are one representation, with one validator
+            assertEquals(after, getOk(url).getHeader(HttpHeaders.ETAG), url);
+            mockMvc.perform(read(url).header(HttpHeaders.IF_NONE_MATCH, before)).andExpect(status().isOk());
+            mockMvc.perform(read(url).header(HttpHeaders.IF_NONE_MATCH, after)).andExpect(status().isNotModified());
+        }
+    }
+
+    @Test
+    void todoAnswers304UntilACollaboratorIsAdded() throws Exception {
+        String url = "/api/todos/" + todo.getId();
+        String before = getOk(url).getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(read(url).header(HttpHeaders.IF_NONE_MATCH, before)).andExpect(status().isNotModified());
+
+        User collaborator = testData.user("USER");
+        mockMvc.perform(post("/api/todos/{todo_id}/users/{user_id}/add", todo.getId(), collaborator.getId())
+                        .headers(testData.bearer(owner)))
+                .andExpect(status().isCreated());
+
+        String after = getOk(url).getHeader(HttpHeaders.ETAG);
+        assertNotEquals(before, after);
+        mockMvc.perform(read(url).header(HttpHeaders.IF_NONE_MATCH, before)).andExpect(status().isOk());
+        mockMvc.perform(read(url).header(HttpHeaders.IF_NONE_MATCH, after)).andExpect(status().isNotModified());
+    }
+
+    // the collaborator rows go with the user, and the todo and its owner's list change with them
+    @Test
+    void todoAndOwnersListChangeWhenACollaboratorIsDeleted() throws Exception {
+        User collaborator = testData.user("USER");
+        ToDo shared = testData.todo(owner, collaborator);
+        List<String> urls = List.of("/api/todos/" + shared.getId(), "/api/users/" + owner.getId() + "/todos");
+        List<String> before = new ArrayList<>();
+        for (String url : urls) {
+            before.add(getOk(url).getHeader(HttpHeaders.ETAG));
+        }
+
+        mockMvc.perform(delete("/api/users/{id}/delete", collaborator.getId()).headers(testData.bearer(collaborator)))
+                .andExpect(status().isNoContent());
+
+        for (int i = 0; i < urls.size(); i++) {
+            mockMvc.perform(read(urls.get(i)).header(HttpHeaders.IF_NONE_MATCH, before.get(i)))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void lastModifiedIsAValidatorToo() throws Exception {
+        List<String> urls = new ArrayList<>(taskListUrls());
+        urls.add("/api/todos/" + todo.getId());
+        for (String url : urls) {
+            MockHttpServletResponse response = getOk(url);
+            long lastModified = response.getDateHeader(HttpHeaders.LAST_MODIFIED);
+            assertNotEquals(-1, lastModified, url);
+            mockMvc.perform(read(url).header(HttpHeaders.IF_MODIFIED_SINCE, response.getHeader(HttpHeaders.LAST_MODIFIED)))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(read(url).headers(ifModifiedSince(lastModified - 1_000))).andExpect(status().isOk());
+            // If-None-Match takes precedence over If-Modified-Since
+            mockMvc.perform(read(url).header(HttpHeaders.IF_NONE_MATCH, "\"stale\"")
+                            .header(HttpHeaders.IF_MODIFIED_SINCE, response.getHeader(HttpHeaders.LAST_MODIFIED)))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    // the owner comes from the ACL cache, so revalidating loads no entity
+    @Test
+    void ownerScoped304LoadsNoEntity() throws Exception {
+        String url = "/api/users/" + owner.getId() + "/todos/" + todo.getId() + "/tasks";
+        String etag = getOk(url).getHeader(HttpHeaders.ETAG);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(read(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        User stranger = testData.user("USER");
+        mockMvc.perform(get("/api/users/" + stranger.getId() + "/todos/" + todo.getId() + "/tasks")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<String> taskListUrls() {
+        return List.of("/api/todos/" + todo.getId() + "/tasks",
+                "/api/users/" + owner.getId() + "/todos/" + todo.getId() + "/tasks",
+                "/api/tasks/todos/" + todo.getId());
+    }
+
+    private MockHttpServletRequestBuilder read(String url) {
+        return get(url).headers(testData.bearer(owner));
+    }
+
+    private MockHttpServletResponse getOk(String url) throws Exception {
+        return mockMvc.perform(read(url)).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    private void addTask() throws Exception {
+        mockMvc.perform(post("/api/tasks/{todo_id}/batch", todo.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(Map.of("task_name", "Task", "priority", "LOW")))))
+                .andExpect(status().isCreated());
+    }
+
+    private static HttpHeaders ifModifiedSince(long time) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfModifiedSince(time);
+        return headers;
+    }
+}
@@ -0,0 +1,125 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.model.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+class ListEndpointStatementCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TestData testData;
+
+    private State state;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        state = testData.state("NEW");
+        admin = testData.user("ADMIN");
+    }
+
+    @Test
+    void allTodosIsConstantInRowCount() throws Exception {
+        User owner = newUser();
+        addTodos(owner, 2);
+        long small = statementsFor("/api/todos");
+        addTodos(owner, 25);
+        assertEquals(small, statementsFor("/api/todos"));
+    }
+
+    @Test
+    void userTodosIsConstantInRowCount() throws Exception {
+        User owner = newUser();
+        addTodos(owner, 2);
+        long small = statementsFor("/api/users/" + owner.getId() + "/todos");
+        addTodos(owner, 25);
+        assertEquals(small, statementsFor("/api/users/" + owner.getId() + "/todos"));
+    }
+
+    @Test
+    void todoTasksIsConstantInRowCount() throws Exception {
+        ToDo todo = addTodos(newUser(), 1).get(0);
+        addTasks(todo, 2);
+        long small = statementsFor("/api/tasks/todos/" + todo.getId());
+        addTasks(todo, 25);
+        assertEquals(small, statementsFor("/api/tasks/todos/" + todo.getId()));
+        assertEquals(small, statementsFor("/api/todos/" + todo.getId() + "/tasks"));
+    }
+
+    // collaborators and their roles come with the todo, after its session has closed
+    @Test
+    void collaboratorsIsOneStatement() throws Exception {
+        ToDo todo = addTodos(newUser(), 1).get(0);
+        assertEquals(1, statementsFor("/api/todos/" + todo.getId() + "/collaborators"));
+    }
+
+    // the counts that choose between the union and the scan are not read again for every page
+    @Test
+    void visibleTodosPageIsTwoStatements() throws Exception {
+        User owner = newUser();
+        addTodos(owner, 5);
+        String url = "/api/users/" + owner.getId() + "/todos/visible?size=2";
+        assertEquals(2, statementsFor(url));
+        String cursor = JsonPath.read(mockMvc.perform(get(url).headers(testData.bearer(admin))).andReturn().getResponse().getContentAsString(),
+                "$.next_cursor");
+        assertEquals(2, statementsFor(url + "&cursor=" + cursor));
+    }
+
+    @Test
+    void filteredTasksIsOneStatement() throws Exception {
+        ToDo todo = addTodos(newUser(), 1).get(0);
+        addTasks(todo, 30);
+        String url = "/api/tasks?todo_id=" + todo.getId() + "&owner_id=" + todo.getOwner().getId() +
+                     "&priority=LOW&state_id=" + state.getId() + "&name=Task&sort=-id&size=10";
+        assertEquals(1, statementsFor(url));
+    }
+
+    private long statementsFor(String url) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled());
+        // warm the second-level cache so both measurements see the same cache state
+        mockMvc.perform(get(url).headers(testData.bearer(admin))).andExpect(status().isOk());
+        statistics.clear();
+        mockMvc.perform(get(url).headers(testData.bearer(admin))).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User newUser() {
+        return testData.user("USER");
+    }
+
+    private List<ToDo> addTodos(User owner, int count) {
+        List<ToDo> todos = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            todos.add(testData.todo(owner, newUser(), newUser()));
+        }
+        return todos;
+    }
+
+    private void addTasks(ToDo todo, int count) {
+        for (int i = 0; i < count; i++) {
+            testData.task(todo, "Task #" + i, Priority.LOW, state);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.dto.UserResponseDto;
+import com.softserve.itacademy.todolist.model.*;
+import com.softserve.itacademy.todolist.repository.ToDoRepository;
+import com.softserve.itacademy.todolist.service.TaskService;
+import com.softserve.itacademy.todolist.service.ToDoService;
+import com.softserve.itacademy.todolist.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the list endpoints write columnar DTOs, which have to give the JSON of the per-row DTOs
+@IntegrationTest
+class ListResponseJsonTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private ToDoRepository toDoRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ToDoService todoService;
+    @Autowired
+    private TaskService taskService;
+
+    private User admin;
+
+    @Test
+    void listsMatchTheRowDtos() throws Exception {
+        admin = testData.user("ADMIN");
+        State state = testData.state("NEW");
+        User owner = testData.user("USER");
+        List<User> collaborators = List.of(testData.user("USER"), testData.user("USER"));
+        List<ToDo> todos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            // a fraction of a second, which the columnar writer has to format as Jackson does
+            ToDo todo = new ToDo();
+            todo.setTitle("Json To-Do #" + i + " " + System.nanoTime());
+            todo.setCreatedAt(LocalDateTime.now().withNano(123_450_000));
+            todo.setOwner(owner);
+            todo.setCollaborators(new ArrayList<>(collaborators.subList(0, i % 3)));
+            todos.add(toDoRepository.save(todo));
+        }
+        for (Priority priority : Priority.values()) {
+            testData.task(todos.get(0), "Task \"" + priority + "\"", priority, state);
+        }
+
+        long todoId = todos.get(0).getId();
+        assertEquals(objectMapper.writeValueAsString(taskService.getDtoByTodoId(todoId)),
+                body("/api/tasks/todos/" + todoId));
+        assertEquals(objectMapper.writeValueAsString(todoService.getDtoByOwnerId(owner.getId())),
+                body("/api/users/" + owner.getId() + "/todos"));
+        assertEquals(objectMapper.writeValueAsString(todoService.getAllDto()), body("/api/todos"));
+        assertEquals(objectMapper.writeValueAsString(userService.getAll().stream()
+                .map(UserResponseDto::new).collect(Collectors.toList())), body("/api/users"));
+        assertEquals("[]", body("/api/users/" + collaborators.get(0).getId() + "/todos"));
+    }
+
+    private String body(String url) throws Exception {
+        return mockMvc.perform(get(url).headers(testData.bearer(admin))).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    }
+}
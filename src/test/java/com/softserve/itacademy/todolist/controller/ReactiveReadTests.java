@@ -0,0 +1,178 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.State;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the streaming endpoints over a real connection, as MockMvc would not stream them
+@IntegrationTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveReadTests {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final MediaType EVENT_STREAM = MediaType.TEXT_EVENT_STREAM;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private State state;
+    private User owner;
+    private User collaborator;
+    private User stranger;
+    private User admin;
+    private ToDo todo;
+
+    @BeforeEach
+    void setUp() {
+        state = testData.state("NEW");
+        owner = testData.user("USER");
+        collaborator = testData.user("USER");
+        stranger = testData.user("USER");
+        admin = testData.user("ADMIN");
+        todo = testData.todo(owner, collaborator);
+        addTasks(todo.getId(), 3);
+    }
+
+    @Test
+    void todoTasksAreNegotiated() throws Exception {
+        String url = "/api/reactive/todos/" + todo.getId() + "/tasks";
+        List<Long> ids = jdbcTemplate.queryForList("select id from tasks where todo_id = ? order by id", Long.class,
+                todo.getId());
+
+        ResponseEntity<String> ndjson = get(url, owner, MediaType.APPLICATION_NDJSON);
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(ndjson.getHeaders().getContentType()));
+        assertEquals(ids, ndjsonIds(ndjson.getBody()));
+        // NDJSON is the answer when the client accepts anything
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(get(url, owner, MediaType.ALL).getHeaders().getContentType()));
+
+        ResponseEntity<String> json = get(url, owner, MediaType.APPLICATION_JSON);
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(json.getHeaders().getContentType()));
+        List<Long> jsonIds = new ArrayList<>();
+        objectMapper.readTree(json.getBody()).forEach(task -> jsonIds.add(task.get("id").asLong()));
+        assertEquals(ids, jsonIds);
+
+        ResponseEntity<String> events = get(url, owner, EVENT_STREAM);
+        assertTrue(EVENT_STREAM.isCompatibleWith(events.getHeaders().getContentType()));
+        assertEquals(ids, eventIds(events.getBody()));
+    }
+
+    @Test
+    void ownerTodosCarryCollaborators() throws Exception {
+        ResponseEntity<String> json = get("/api/reactive/users/" + owner.getId() + "/todos", owner, MediaType.APPLICATION_JSON);
+        JsonNode todos = objectMapper.readTree(json.getBody());
+        assertEquals(1, todos.size());
+        assertEquals(todo.getId().longValue(), todos.get(0).get("id").asLong());
+        assertEquals(collaborator.getId().longValue(), todos.get(0).get("collaborators").get(0).asLong());
+    }
+
+    @Test
+    void callersOutsideTheAclAreRejected() {
+        String tasks = "/api/reactive/todos/" + todo.getId() + "/tasks";
+        String todos = "/api/reactive/users/" + owner.getId() + "/todos";
+        for (MediaType type : List.of(MediaType.APPLICATION_NDJSON, EVENT_STREAM)) {
+            assertEquals(401, get(tasks, null, type).getStatusCodeValue());
+            assertEquals(403, get(tasks, stranger, type).getStatusCodeValue());
+            assertEquals(200, get(tasks, collaborator, type).getStatusCodeValue());
+            assertEquals(200, get(tasks, admin, type).getStatusCodeValue());
+
+            assertEquals(401, get(todos, null, type).getStatusCodeValue());
+            assertEquals(403, get(todos, collaborator, type).getStatusCodeValue());
+            assertEquals(200, get(todos, admin, type).getStatusCodeValue());
+
+            assertEquals(401, get("/api/reactive/tasks", null, type).getStatusCodeValue());
+            assertEquals(403, get("/api/reactive/tasks", owner, type).getStatusCodeValue());
+        }
+    }
+
+    // the column is nullable, as it was before the API validated priorities
+    @Test
+    void taskWithoutPriorityIsStreamed() throws Exception {
+        jdbcTemplate.update("insert into tasks (id, name, priority, state_id, todo_id) " +
+                            "values (next value for tasks_seq, 'Unprioritised', null, ?, ?)", state.getId(), todo.getId());
+        String url = "/api/reactive/todos/" + todo.getId() + "/tasks";
+
+        ResponseEntity<String> json = get(url, owner, MediaType.APPLICATION_JSON);
+        assertEquals(200, json.getStatusCodeValue());
+        JsonNode tasks = objectMapper.readTree(json.getBody());
+        assertEquals(4, tasks.size());
+        assertEquals("Unprioritised", tasks.get(3).get("name").asText());
+        assertTrue(tasks.get(3).get("priority").isNull());
+    }
+
+    // the export reads pages of 1,000 rows, so the table needs more than two pages
+    @Test
+    void allTasksCrossPageBoundaries() throws Exception {
+        int missing = 2_500 - jdbcTemplate.queryForObject("select count(*) from tasks", Integer.class);
+        if (missing > 0) {
+            addTasks(todo.getId(), missing);
+        }
+        List<Long> ids = jdbcTemplate.queryForList("select id from tasks order by id", Long.class);
+
+        assertEquals(ids, ndjsonIds(get("/api/reactive/tasks", admin, MediaType.APPLICATION_NDJSON).getBody()));
+        assertEquals(ids, eventIds(get("/api/reactive/tasks", admin, EVENT_STREAM).getBody()));
+    }
+
+    private ResponseEntity<String> get(String url, User user, MediaType accept) {
+        HttpHeaders headers = user == null ? new HttpHeaders() : testData.bearer(user);
+        headers.setAccept(List.of(accept));
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private List<Long> ndjsonIds(String body) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                ids.add(objectMapper.readTree(line).get("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    private List<Long> eventIds(String body) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (line.startsWith("data:")) {
+                ids.add(objectMapper.readTree(line.substring("data:".length())).get("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    private void addTasks(long todoId, int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"Task #" + SEQUENCE.incrementAndGet(), Priority.LOW.name(), state.getId(), todoId});
+        }
+        // ids from the sequence Hibernate allocates from, so later saves don't collide with them
+        jdbcTemplate.batchUpdate("insert into tasks (id, name, priority, state_id, todo_id) " +
+                                 "values (next value for tasks_seq, ?, ?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,206 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.State;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+class SearchTests {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private UserService userService;
+
+    // a word only this test's todos and tasks contain, as the index is shared with the other tests
+    private String word;
+    private State state;
+    private User owner;
+    private User collaborator;
+    private User stranger;
+    private User admin;
+    private ToDo shared;
+    private ToDo foreign;
+
+    @BeforeEach
+    void setUp() {
+        state = testData.state("NEW");
+        word = "marker" + Long.toString(System.nanoTime(), 36) + SEQUENCE.incrementAndGet();
+        owner = testData.user("USER");
+        collaborator = testData.user("USER");
+        stranger = testData.user("USER");
+        admin = testData.user("ADMIN");
+        shared = newTodo(owner, collaborator);
+        foreign = newTodo(stranger);
+        newTask(shared, Priority.HIGH);
+        newTask(shared, Priority.LOW);
+        newTask(foreign, Priority.HIGH);
+    }
+
+    @Test
+    void usersOnlyFindTodosTheyOwnOrShare() throws Exception {
+        assertEquals(Set.of(shared.getId()), ids(search(owner, "todos")));
+        assertEquals(Set.of(shared.getId()), ids(search(collaborator, "todos")));
+        assertEquals(Set.of(foreign.getId()), ids(search(stranger, "todos")));
+        assertEquals(Set.of(shared.getId(), foreign.getId()), ids(search(admin, "todos")));
+
+        JsonNode hit = search(collaborator, "todos").get("items").get(0);
+        assertEquals(owner.getId().longValue(), hit.get("owner_id").asLong());
+        assertEquals(collaborator.getId().longValue(), hit.get("collaborators").get(0).asLong());
+    }
+
+    @Test
+    void usersOnlyFindTasksOfTodosTheyOwnOrShare() throws Exception {
+        assertEquals(Set.of(shared.getId()), todoIds(search(owner, "tasks")));
+        assertEquals(2, search(owner, "tasks").get("total_hits").asLong());
+        assertEquals(Set.of(shared.getId()), todoIds(search(collaborator, "tasks")));
+        assertEquals(Set.of(foreign.getId()), todoIds(search(stranger, "tasks")));
+        assertEquals(3, search(admin, "tasks").get("total_hits").asLong());
+
+        // the filters narrow the scoped hits down, they never widen them
+        JsonNode high = body(request(owner, word, "tasks").param("priority", "high"));
+        assertEquals(1, high.get("total_hits").asLong());
+        assertEquals("HIGH", high.get("items").get(0).get("priority").asText());
+        assertEquals(2, body(request(owner, word, "tasks").param("state_id", state.getId().toString()))
+                .get("total_hits").asLong());
+    }
+
+    // collaborators are written around the automatic indexing and reindexed after the commit
+    @Test
+    void collaboratorChangesReachTheIndex() throws Exception {
+        String add = "/api/todos/" + foreign.getId() + "/users/" + owner.getId() + "/add";
+        mockMvc.perform(post(add).headers(testData.bearer(stranger))).andExpect(status().isCreated());
+        await(() -> ids(search(owner, "todos")).contains(foreign.getId()));
+        await(() -> todoIds(search(owner, "tasks")).contains(foreign.getId()));
+
+        String remove = "/api/todos/" + foreign.getId() + "/users/" + owner.getId() + "/remove";
+        mockMvc.perform(delete(remove).headers(testData.bearer(stranger))).andExpect(status().isNoContent());
+        await(() -> !ids(search(owner, "todos")).contains(foreign.getId()));
+        await(() -> !todoIds(search(owner, "tasks")).contains(foreign.getId()));
+    }
+
+    // the hits' collaborators come with the hits, not one query per todo; each count is taken on
+    // todos searched for the first time, before their collections are in the second-level cache
+    @Test
+    void todoHitsAreConstantInStatements() throws Exception {
+        long few = statementsForTodoSearch();
+        for (int i = 0; i < 10; i++) {
+            newTodo(owner, collaborator, stranger);
+        }
+        assertEquals(few, statementsForTodoSearch());
+        assertEquals(12, search(admin, "todos").get("total_hits").asLong());
+    }
+
+    @Test
+    void unknownTypeOrPriorityIsRejected() throws Exception {
+        mockMvc.perform(request(owner, word, "notes")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/search").param("q", word).param("priority", "urgent").headers(testData.bearer(owner)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/search").param("q", word).param("type", "todos").param("priority", "low")
+                .headers(testData.bearer(owner))).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/search").param("q", word)).andExpect(status().isUnauthorized());
+    }
+
+    // the token is still valid, but the user it was issued to is gone
+    @Test
+    void deletedUsersAreRefused() throws Exception {
+        User deleted = testData.user("USER");
+        User deletedAdmin = testData.user("ADMIN");
+        HttpHeaders token = testData.bearer(deleted);
+        HttpHeaders adminToken = testData.bearer(deletedAdmin);
+        userService.delete(deleted.getId());
+        userService.delete(deletedAdmin.getId());
+
+        mockMvc.perform(get("/api/search").param("q", word).headers(token)).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/search").param("q", word).headers(adminToken)).andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/search/reindex").headers(adminToken)).andExpect(status().isForbidden());
+    }
+
+    private long statementsForTodoSearch() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        search(admin, "todos");
+        return statistics.getPrepareStatementCount();
+    }
+
+    private JsonNode search(User user, String type) throws Exception {
+        return body(request(user, word, type));
+    }
+
+    private MockHttpServletRequestBuilder request(User user, String q, String type) {
+        return get("/api/search").param("q", q).param("type", type).param("size", "100").headers(testData.bearer(user));
+    }
+
+    private JsonNode body(MockHttpServletRequestBuilder request) throws Exception {
+        ResultActions response = mockMvc.perform(request).andExpect(status().isOk());
+        return objectMapper.readTree(response.andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private static Set<Long> ids(JsonNode result) {
+        Set<Long> ids = new TreeSet<>();
+        result.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+
+    private static Set<Long> todoIds(JsonNode result) {
+        Set<Long> ids = new TreeSet<>();
+        result.get("items").forEach(item -> ids.add(item.get("todoId").asLong()));
+        return ids;
+    }
+
+    private static void await(Condition condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.holds()) {
+            assertTrue(System.currentTimeMillis() < deadline, "the index did not catch up");
+            Thread.sleep(20);
+        }
+    }
+
+    private ToDo newTodo(User owner, User... collaborators) {
+        return testData.todo("Searched " + word + " #" + SEQUENCE.incrementAndGet(), owner, collaborators);
+    }
+
+    private void newTask(ToDo todo, Priority priority) {
+        testData.task(todo, "Task " + word, priority, state);
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean holds() throws Exception;
+    }
+}
@@ -0,0 +1,220 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.State;
+import com.softserve.itacademy.todolist.model.Task;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// every query is narrowed to this test's own owner, as the tasks table is shared with the other tests
+@IntegrationTest
+class TaskFilterTests {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestData testData;
+
+    private State created;
+    private State done;
+    private User owner;
+    private User otherOwner;
+    private ToDo first;
+    private ToDo second;
+    private ToDo foreign;
+    // a prefix only this test's task names start with
+    private String prefix;
+    private final List<Task> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        created = testData.state("NEW");
+        done = testData.state("DONE");
+        owner = testData.user("USER");
+        otherOwner = testData.user("USER");
+        first = testData.todo(owner);
+        second = testData.todo(owner);
+        foreign = testData.todo(otherOwner);
+        prefix = "F" + Long.toString(System.nanoTime(), 36) + SEQUENCE.incrementAndGet() + " ";
+
+        task(first, "50%_off", Priority.HIGH, created);
+        task(first, "50%Xoff", Priority.LOW, done);
+        task(first, "50XXoff", Priority.MEDIUM, created);
+        task(second, "a_b", Priority.HIGH, done);
+        task(second, "axb", Priority.LOW, created);
+        task(second, "c\\d", Priority.HIGH, created);
+        task(second, "Plan", Priority.MEDIUM, done);
+        task(foreign, "50%_off", Priority.HIGH, created);
+    }
+
+    @Test
+    void eachFilterReturnsExactlyTheMatchingRows() throws Exception {
+        assertEquals(expected(task -> task.getTodo().getOwner().getId().equals(owner.getId())),
+                ids(list().param("owner_id", owner.getId().toString())));
+        assertEquals(expected(task -> task.getTodo().getId().equals(first.getId())),
+                ids(list().param("todo_id", first.getId().toString())));
+        assertEquals(expected(task -> task.getTodo().getId().equals(foreign.getId())),
+                ids(list().param("todo_id", foreign.getId().toString())));
+
+        for (Priority priority : Priority.values()) {
+            assertEquals(expected(task -> owns(task) && task.getPriority() == priority),
+                    ids(ownTasks().param("priority", priority.name())), priority.name());
+            // in any case, as the other task endpoints and search take them
+            assertEquals(ids(ownTasks().param("priority", priority.name())),
+                    ids(ownTasks().param("priority", priority.name().toLowerCase())), priority.name());
+        }
+        for (State state : List.of(created, done)) {
+            assertEquals(expected(task -> owns(task) && task.getState().getId().equals(state.getId())),
+                    ids(ownTasks().param("state_id", state.getId().toString())), state.getName());
+        }
+
+        assertEquals(expected(task -> owns(task) && task.getName().startsWith(prefix + "50")),
+                ids(ownTasks().param("name", prefix + "50")));
+
+        // all together
+        assertEquals(expected(task -> task.getTodo().getId().equals(first.getId()) && task.getPriority() == Priority.HIGH
+                        && task.getState().getId().equals(created.getId()) && task.getName().startsWith(prefix + "50%")),
+                ids(ownTasks().param("todo_id", first.getId().toString()).param("priority", "HIGH")
+                        .param("state_id", created.getId().toString()).param("name", prefix + "50%")));
+
+        JsonNode row = page(list().param("todo_id", foreign.getId().toString())).get("items").get(0);
+        assertEquals(prefix + "50%_off", row.get("name").asText());
+        assertEquals("HIGH", row.get("priority").asText());
+        assertEquals(foreign.getId().longValue(), row.get("todoId").asLong());
+        assertEquals(created.getId().longValue(), row.get("stateId").asLong());
+    }
+
+    // % and _ in the prefix are the characters themselves, not LIKE wildcards
+    @Test
+    void namePrefixIsLiteral() throws Exception {
+        assertEquals(names("50%_off", "50%Xoff"), names(ownTasks().param("name", prefix + "50%")));
+        assertEquals(names("50%_off"), names(ownTasks().param("name", prefix + "50%_")));
+        assertEquals(names("a_b"), names(ownTasks().param("name", prefix + "a_")));
+        assertEquals(names("c\\d"), names(ownTasks().param("name", prefix + "c\\")));
+        // case-sensitive
+        assertEquals(names("Plan"), names(ownTasks().param("name", prefix + "Pl")));
+        assertEquals(List.of(), names(ownTasks().param("name", prefix + "pl")));
+    }
+
+    @Test
+    void cursorContinuesInEitherOrder() throws Exception {
+        List<Long> ascending = expected(this::owns);
+        List<Long> descending = new ArrayList<>(ascending);
+        descending.sort(Comparator.reverseOrder());
+
+        assertEquals(ascending, allPages(null));
+        assertEquals(ascending, allPages("id"));
+        assertEquals(descending, allPages("-id"));
+        // a cursor from the middle of the descending order continues below it
+        JsonNode firstPage = page(get("/api/tasks").param("owner_id", owner.getId().toString())
+                .param("sort", "-id").param("size", "3"));
+        assertEquals(descending.subList(0, 3), ids(firstPage));
+        assertEquals(descending.subList(3, 6), ids(ownTasks().param("sort", "-id")
+                .param("cursor", firstPage.get("next_cursor").asText())).subList(0, 3));
+    }
+
+    @Test
+    void unknownSortPriorityOrCursorIsRejected() throws Exception {
+        for (String sort : List.of("name", "-name", "ID", "+id")) {
+            mockMvc.perform(ownTasks().param("sort", sort)).andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(ownTasks().param("priority", "URGENT")).andExpect(status().isBadRequest());
+        mockMvc.perform(ownTasks().param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    private List<Long> allPages(String sort) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/tasks").param("owner_id", owner.getId().toString())
+                    .param("size", "3");
+            if (sort != null) {
+                request.param("sort", sort);
+            }
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = page(request);
+            assertTrue(page.get("items").size() <= 3);
+            page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+            cursor = page.get("next_cursor").isNull() ? null : page.get("next_cursor").asText();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private boolean owns(Task task) {
+        return task.getTodo().getOwner().getId().equals(owner.getId());
+    }
+
+    private List<Long> expected(Predicate<Task> filter) {
+        return tasks.stream().filter(filter).map(Task::getId).sorted().collect(Collectors.toList());
+    }
+
+    private List<String> names(String... names) {
+        List<String> prefixed = new ArrayList<>();
+        for (String name : names) {
+            prefixed.add(prefix + name);
+        }
+        prefixed.sort(Comparator.naturalOrder());
+        return prefixed;
+    }
+
+    private List<String> names(MockHttpServletRequestBuilder request) throws Exception {
+        List<String> names = new ArrayList<>();
+        page(request).get("items").forEach(item -> names.add(item.get("name").asText()));
+        names.sort(Comparator.naturalOrder());
+        return names;
+    }
+
+    private List<Long> ids(MockHttpServletRequestBuilder request) throws Exception {
+        return ids(page(request));
+    }
+
+    private static List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+
+    private JsonNode page(MockHttpServletRequestBuilder request) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private MockHttpServletRequestBuilder list() {
+        return get("/api/tasks").param("size", "100");
+    }
+
+    private MockHttpServletRequestBuilder ownTasks() {
+        return list().param("owner_id", owner.getId().toString());
+    }
+
+    private void task(ToDo todo, String name, Priority priority, State state) {
+        tasks.add(testData.task(todo, prefix + name, priority, state));
+    }
+}
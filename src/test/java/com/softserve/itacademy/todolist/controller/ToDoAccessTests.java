@@ -0,0 +1,125 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.model.Priority;
+import com.softserve.itacademy.todolist.model.Task;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.model.User;
+import com.softserve.itacademy.todolist.repository.TaskRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the @PreAuthorize rules on a todo, answered from the ACL cache
+@IntegrationTest
+class ToDoAccessTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User owner;
+    private User collaborator;
+    private User stranger;
+    private User admin;
+    private ToDo todo;
+    private String url;
+
+    @BeforeEach
+    void setUp() {
+        owner = testData.user("USER");
+        collaborator = testData.user("USER");
+        stranger = testData.user("USER");
+        admin = testData.user("ADMIN");
+        todo = testData.todo(owner, collaborator);
+        url = "/api/todos/" + todo.getId();
+    }
+
+    @Test
+    void onlyTheOwnerCollaboratorsAndAdminsReadATodo() throws Exception {
+        mockMvc.perform(get(url)).andExpect(status().isUnauthorized());
+        mockMvc.perform(read(stranger)).andExpect(status().isForbidden());
+        mockMvc.perform(read(owner)).andExpect(status().isOk());
+        mockMvc.perform(read(collaborator)).andExpect(status().isOk());
+        mockMvc.perform(read(admin)).andExpect(status().isOk());
+        // only the owner and admins write it
+        mockMvc.perform(delete(url + "/delete").headers(testData.bearer(collaborator))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/todos").headers(testData.bearer(owner))).andExpect(status().isForbidden());
+    }
+
+    // once the ACL is cached, neither answer costs a query; the one statement of the 304 is the version
+    @Test
+    void repeatedChecksAreServedFromTheCache() throws Exception {
+        String etag = mockMvc.perform(read(owner)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        mockMvc.perform(read(owner).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        mockMvc.perform(read(stranger)).andExpect(status().isForbidden());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void collaboratorChangesReachTheCache() throws Exception {
+        mockMvc.perform(read(stranger)).andExpect(status().isForbidden());
+
+        mockMvc.perform(post(url + "/users/" + stranger.getId() + "/add").headers(testData.bearer(owner)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(read(stranger)).andExpect(status().isOk());
+
+        mockMvc.perform(delete(url + "/users/" + stranger.getId() + "/remove").headers(testData.bearer(owner)))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(read(stranger)).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void unknownTodoIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/todos/" + (todo.getId() + 1_000_000)).headers(testData.bearer(owner)))
+                .andExpect(status().isNotFound());
+    }
+
+    // the check is on the todo in the path, so the task has to belong to it
+    @Test
+    void tasksAreDeletedThroughTheirOwnTodo() throws Exception {
+        Task task = testData.task(todo, "Owned", Priority.LOW, testData.state("NEW"));
+        ToDo strangersTodo = testData.todo(stranger);
+
+        mockMvc.perform(delete("/api/tasks/{task_id}/todos/{todo_id}/delete", task.getId(), todo.getId())
+                .headers(testData.bearer(stranger))).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/tasks/{task_id}/todos/{todo_id}/delete", task.getId(), strangersTodo.getId())
+                .headers(testData.bearer(stranger))).andExpect(status().isNotFound());
+        assertTrue(taskRepository.existsById(task.getId()));
+
+        mockMvc.perform(delete("/api/tasks/{task_id}/todos/{todo_id}/delete", task.getId(), todo.getId())
+                .headers(testData.bearer(owner))).andExpect(status().isNoContent());
+        assertTrue(taskRepository.findById(task.getId()).isEmpty());
+    }
+
+    private MockHttpServletRequestBuilder read(User user) {
+        return get(url).headers(testData.bearer(user));
+    }
+}
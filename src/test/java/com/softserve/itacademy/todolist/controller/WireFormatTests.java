@@ -0,0 +1,81 @@
+package com.softserve.itacademy.todolist.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Smile and CBOR have to carry what JSON does, each under its own ETag
+@IntegrationTest
+class WireFormatTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void binaryFormatsCarryTheJsonContent() throws Exception {
+        User owner = testData.user("USER");
+        byte[] created = mockMvc.perform(post("/api/todos/create/users/{owner_id}", owner.getId())
+                        .headers(testData.bearer(owner))
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborConverter.getObjectMapper().writeValueAsBytes(Map.of("title", "Binary " + System.nanoTime()))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(owner.getId().longValue(), cborConverter.getObjectMapper().readTree(created).get("owner_id").asLong());
+
+        String url = "/api/users/" + owner.getId() + "/todos";
+        MockHttpServletResponse json = perform(url, owner, MediaType.APPLICATION_JSON);
+        MockHttpServletResponse smile = perform(url, owner, SMILE);
+        MockHttpServletResponse cbor = perform(url, owner, MediaType.APPLICATION_CBOR);
+        JsonNode expected = objectMapper.readTree(json.getContentAsByteArray());
+        assertTrue(expected.get(0).get("created_at").isTextual());
+        assertEquals(expected, smileConverter.getObjectMapper().readTree(smile.getContentAsByteArray()));
+        assertEquals(expected, cborConverter.getObjectMapper().readTree(cbor.getContentAsByteArray()));
+        assertTrue(smile.getContentAsByteArray().length < json.getContentAsByteArray().length);
+
+        assertEquals(HttpHeaders.ACCEPT, smile.getHeader(HttpHeaders.VARY));
+        String jsonETag = json.getHeader(HttpHeaders.ETAG);
+        String smileETag = smile.getHeader(HttpHeaders.ETAG);
+        assertEquals(jsonETag.replace("\"", "") + "-smile", smileETag.replace("\"", ""));
+        mockMvc.perform(get(url).headers(testData.bearer(owner)).accept(SMILE).header(HttpHeaders.IF_NONE_MATCH, smileETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(url).headers(testData.bearer(owner)).accept(SMILE).header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk());
+    }
+
+    private MockHttpServletResponse perform(String url, User user, MediaType accept) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get(url).headers(testData.bearer(user)).accept(accept))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertTrue(accept.isCompatibleWith(MediaType.parseMediaType(response.getContentType())));
+        return response;
+    }
+}
@@ -0,0 +1,248 @@
+package com.softserve.itacademy.todolist.event;
+
+import com.softserve.itacademy.todolist.IntegrationTest;
+import com.softserve.itacademy.todolist.TestData;
+import com.softserve.itacademy.todolist.model.ToDo;
+import com.softserve.itacademy.todolist.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+class ToDoChangeFeedTests {
+
+    private static final int HISTORY_SIZE = 4;
+    // todos only the feed knows about, far from the ids the database hands out
+    private static final AtomicLong TODO_IDS = new AtomicLong(1_000_000_000L);
+
+    @Autowired
+    private ToDoChangeFeed changeFeed;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestData testData;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // a heartbeat that never fires, so the received events are only the feed's own
+    private final ToDoChangeFeed feed = new ToDoChangeFeed(100, HISTORY_SIZE, HISTORY_SIZE, Duration.ofHours(1), registry);
+    private final List<Disposable> subscriptions = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        subscriptions.forEach(Disposable::dispose);
+    }
+
+    @Test
+    void firstSubscriptionStartsWithSubscribed() {
+        long todoId = TODO_IDS.incrementAndGet();
+        List<ServerSentEvent<ToDoChangeEvent>> received = subscribe(feed, todoId, null);
+        feed.publish(ToDoChangeEvent.collaboratorAdded(todoId, 1));
+
+        assertEquals(List.of(ToDoChangeEvent.SUBSCRIBED, ToDoChangeEvent.COLLABORATOR_ADDED), types(received));
+        assertEquals(todoId, received.get(0).data().getTodoId());
+        assertTrue(received.get(0).id().endsWith("-0"));
+        assertTrue(received.get(1).id().endsWith("-1"));
+    }
+
+    @Test
+    void topicsAreOnlyKeptForSubscribedTodos() {
+        long todoId = TODO_IDS.incrementAndGet();
+        feed.publish(ToDoChangeEvent.collaboratorAdded(todoId, 1));
+        assertEquals(0, topics());
+
+        List<ServerSentEvent<ToDoChangeEvent>> received = subscribe(feed, todoId, null);
+        assertEquals(1, topics());
+        assertEquals(List.of(ToDoChangeEvent.SUBSCRIBED), types(received));
+        assertTrue(received.get(0).id().endsWith("-0"));
+    }
+
+    @Test
+    void resumingReplaysOnlyTheMissedEvents() {
+        long todoId = TODO_IDS.incrementAndGet();
+        List<ServerSentEvent<ToDoChangeEvent>> first = subscribe(feed, todoId, null);
+        for (long userId = 1; userId <= 3; userId++) {
+            feed.publish(ToDoChangeEvent.collaboratorAdded(todoId, userId));
+        }
+
+        List<ServerSentEvent<ToDoChangeEvent>> resumed = subscribe(feed, todoId, first.get(1).id());
+        assertEquals(List.of(2L, 3L), userIds(resumed));
+        assertEquals(first.subList(2, 4).stream().map(ServerSentEvent::id).collect(Collectors.toList()),
+                resumed.stream().map(ServerSentEvent::id).collect(Collectors.toList()));
+
+        // and stays subscribed for what comes next
+        feed.publish(ToDoChangeEvent.collaboratorRemoved(todoId, 2));
+        assertEquals(ToDoChangeEvent.COLLABORATOR_REMOVED, types(resumed).get(2));
+
+        // resuming from the latest event replays nothing
+        assertTrue(subscribe(feed, todoId, first.get(first.size() - 1).id()).isEmpty());
+    }
+
+    @Test
+    void unknownOrStaleIdsGetReset() {
+        long todoId = TODO_IDS.incrementAndGet();
+        String current = subscribe(feed, todoId, null).get(0).id();
+        String stamp = current.substring(0, current.lastIndexOf('-'));
+
+        for (String lastEventId : List.of("garbage", "other-0", stamp + "-x", stamp + "-5", stamp + "--1")) {
+            List<ServerSentEvent<ToDoChangeEvent>> received = subscribe(feed, todoId, lastEventId);
+            assertEquals(List.of(ToDoChangeEvent.RESET), types(received), lastEventId);
+            assertEquals(current, received.get(0).id(), lastEventId);
+        }
+
+        // the todo's topic is dropped with the todo, and its ids with it
+        feed.publish(ToDoChangeEvent.todoDeleted(todoId));
+        List<ServerSentEvent<ToDoChangeEvent>> received = subscribe(feed, todoId, current);
+        assertEquals(List.of(ToDoChangeEvent.RESET), types(received));
+        assertNotEquals(stamp, received.get(0).id().substring(0, received.get(0).id().lastIndexOf('-')));
+    }
+
+    @Test
+    void eventsThatLeftTheHistoryAreReportedAsAGap() {
+        long todoId = TODO_IDS.incrementAndGet();
+        List<ServerSentEvent<ToDoChangeEvent>> first = subscribe(feed, todoId, null);
+        for (long userId = 1; userId <= HISTORY_SIZE + 3; userId++) {
+            feed.publish(ToDoChangeEvent.collaboratorAdded(todoId, userId));
+        }
+
+        // events 2 to 3 are gone, so the resumed client is told before it gets 4 onwards
+        List<ServerSentEvent<ToDoChangeEvent>> resumed = subscribe(feed, todoId, first.get(1).id());
+        assertEquals(ToDoChangeEvent.RESET, types(resumed).get(0));
+        assertEquals(first.get(3).id(), resumed.get(0).id());
+        assertEquals(List.of(4L, 5L, 6L, 7L), userIds(resumed.subList(1, resumed.size())));
+    }
+
+    @Test
+    void slowSubscribersAreDisconnected() {
+        long todoId = TODO_IDS.incrementAndGet();
+        List<ServerSentEvent<ToDoChangeEvent>> live = subscribe(feed, todoId, null);
+        AtomicBoolean completed = new AtomicBoolean();
+        // takes the subscribed event and nothing after it, so every change waits in its buffer
+        BaseSubscriber<ServerSentEvent<ToDoChangeEvent>> stalled = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            protected void hookOnComplete() {
+                completed.set(true);
+            }
+        };
+        feed.subscribe(todoId, null).subscribe(stalled);
+        subscriptions.add(stalled);
+
+        // the buffer, plus one event in each of the two operators after it
+        int held = HISTORY_SIZE + 2;
+        for (long userId = 1; userId <= held; userId++) {
+            feed.publish(ToDoChangeEvent.collaboratorAdded(todoId, userId));
+        }
+        assertFalse(completed.get());
+        assertEquals(0, dropped());
+
+        feed.publish(ToDoChangeEvent.collaboratorAdded(todoId, held + 1));
+        assertTrue(completed.get());
+        assertEquals(1, dropped());
+        // the others keep receiving
+        feed.publish(ToDoChangeEvent.collaboratorAdded(todoId, held + 2));
+        assertEquals(held + 3, live.size());
+        assertEquals(1, dropped());
+    }
+
+    @Test
+    void eventsOfARolledBackTransactionAreNeverDelivered() {
+        long todoId = TODO_IDS.incrementAndGet();
+        List<ServerSentEvent<ToDoChangeEvent>> received = subscribe(changeFeed, todoId, null);
+
+        transactionTemplate.executeWithoutResult(transaction -> {
+            eventPublisher.publishEvent(ToDoChangeEvent.collaboratorAdded(todoId, 1));
+            transaction.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(transaction -> {
+            eventPublisher.publishEvent(ToDoChangeEvent.collaboratorAdded(todoId, 2));
+            assertEquals(1, received.size(), "delivered before the commit");
+        });
+
+        assertEquals(List.of(ToDoChangeEvent.SUBSCRIBED, ToDoChangeEvent.COLLABORATOR_ADDED), types(received));
+        assertEquals(List.of(2L), userIds(received.subList(1, 2)));
+        assertTrue(received.get(1).id().endsWith("-1"));
+        changeFeed.publish(ToDoChangeEvent.todoDeleted(todoId));
+    }
+
+    @Test
+    void eventsEndpointChecksTheCaller() throws Exception {
+        User owner = testData.user("USER");
+        User collaborator = testData.user("USER");
+        User stranger = testData.user("USER");
+        ToDo todo = testData.todo(owner, collaborator);
+        String url = "/api/todos/" + todo.getId() + "/tasks/events";
+
+        mockMvc.perform(events(url, null)).andExpect(status().isUnauthorized());
+        mockMvc.perform(events(url, stranger)).andExpect(status().isForbidden());
+        // the error body is JSON, which a client accepting only events could not be sent
+        mockMvc.perform(events("/api/todos/" + (todo.getId() + 1_000_000) + "/tasks/events", owner)
+                .accept(MediaType.ALL)).andExpect(status().isNotFound());
+        mockMvc.perform(events(url, owner)).andExpect(request().asyncStarted());
+        mockMvc.perform(events(url, collaborator)).andExpect(request().asyncStarted());
+        // completes the two streams
+        changeFeed.publish(ToDoChangeEvent.todoDeleted(todo.getId()));
+    }
+
+    private List<ServerSentEvent<ToDoChangeEvent>> subscribe(ToDoChangeFeed feed, long todoId, String lastEventId) {
+        List<ServerSentEvent<ToDoChangeEvent>> received = new CopyOnWriteArrayList<>();
+        subscriptions.add(feed.subscribe(todoId, lastEventId).subscribe(received::add));
+        return received;
+    }
+
+    private double dropped() {
+        return registry.get("todolist.change_feed.dropped").counter().count();
+    }
+
+    private double topics() {
+        return registry.get("todolist.change_feed.topics").gauge().value();
+    }
+
+    private static List<String> types(List<ServerSentEvent<ToDoChangeEvent>> events) {
+        return events.stream().map(ServerSentEvent::event).collect(Collectors.toList());
+    }
+
+    private static List<Long> userIds(List<ServerSentEvent<ToDoChangeEvent>> events) {
+        return events.stream().map(event -> event.data().getUserId()).collect(Collectors.toList());
+    }
+
+    private MockHttpServletRequestBuilder events(String url, User user) {
+        HttpHeaders headers = user == null ? new HttpHeaders() : testData.bearer(user);
+        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+        return get(url).headers(headers);
+    }
+}
@@ -0,0 +1,91 @@
+package com.softserve.itacademy.todolist.security;
+
+import com.softserve.itacademy.todolist.repository.ToDoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// a load racing an eviction must never leave the rows it read before the change in the cache
+class ToDoAclCacheTests {
+
+    private static final long TODO_ID = 1;
+    private static final long OWNER_ID = 10;
+    private static final long COLLABORATOR_ID = 20;
+
+    private final ToDoRepository todoRepository = mock(ToDoRepository.class, withSettings().stubOnly());
+    private final AtomicReference<List<Long>> collaborators = new AtomicReference<>(List.of(COLLABORATOR_ID));
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void loadOverlappingAnEvictionIsNotKept() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(todoRepository.findOwnerId(anyLong())).thenReturn(Optional.of(OWNER_ID));
+        when(todoRepository.findCollaboratorIds(anyLong())).thenAnswer(invocation -> {
+            List<Long> read = collaborators.get();
+            if (loading.getCount() > 0) {
+                loading.countDown();
+                assertTrue(evicted.await(10, TimeUnit.SECONDS));
+            }
+            return read;
+        });
+        ToDoAclCache cache = new ToDoAclCache(todoRepository, 16);
+
+        Future<Boolean> check = executor.submit(() -> cache.isCollaborator(TODO_ID, COLLABORATOR_ID));
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+        collaborators.set(List.of());
+        cache.evict(TODO_ID);
+        evicted.countDown();
+
+        assertTrue(check.get(10, TimeUnit.SECONDS));
+        assertFalse(cache.isCollaborator(TODO_ID, COLLABORATOR_ID));
+    }
+
+    @Test
+    void readersNeverOutliveAnEviction() throws Exception {
+        when(todoRepository.findOwnerId(anyLong())).thenReturn(Optional.of(OWNER_ID));
+        when(todoRepository.findCollaboratorIds(anyLong())).thenAnswer(invocation -> collaborators.get());
+        ToDoAclCache cache = new ToDoAclCache(todoRepository, 16);
+        AtomicBoolean running = new AtomicBoolean(true);
+        for (int i = 0; i < 3; i++) {
+            executor.submit(() -> {
+                while (running.get()) {
+                    cache.isCollaborator(TODO_ID, COLLABORATOR_ID);
+                }
+            });
+        }
+
+        try {
+            for (int i = 0; i < 5_000; i++) {
+                boolean member = i % 2 == 0;
+                collaborators.set(member ? List.of(COLLABORATOR_ID) : List.of());
+                cache.evict(TODO_ID);
+                assertEquals(member, cache.isCollaborator(TODO_ID, COLLABORATOR_ID), "after change " + i);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+}